@@ -1,9 +1,16 @@
+import java.io.BufferedOutputStream
+import java.io.DataOutputStream
+import java.io.FileOutputStream
+import java.text.Normalizer
+import java.util.Locale
+
 plugins {
     java
     application
     id("org.javamodularity.moduleplugin") version "1.8.15"
     id("org.openjfx.javafxplugin") version "0.0.13"
     id("org.beryx.jlink") version "2.25.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "github.ysbar"
@@ -15,9 +22,12 @@ repositories {
 
 val junitVersion = "5.12.1"
 
+// -PjavaVersion=25 builds and links with a newer JDK (needed for -Paot=true, see FAST START below)
+val javaVersion = (findProperty("javaVersion") ?: "21").toString().toInt()
+
 java {
     toolchain {
-        languageVersion = JavaLanguageVersion.of(21)
+        languageVersion = JavaLanguageVersion.of(javaVersion)
     }
 }
 
@@ -46,12 +56,252 @@ dependencies {
 
 tasks.withType<Test> {
     useJUnitPlatform()
+    // Heavier ConcurrentLeaderboardTest run, e.g. ./gradlew test -PstressSubmissions=4000000
+    findProperty("stressSubmissions")?.let { systemProperty("hangman.stress.submissions", it.toString()) }
+}
+
+// --- BENCHMARKS ---
+// JMH benchmarks live in src/jmh/java. Run with "./gradlew jmh"; results are written as JSON
+// to build/reports/jmh/results.json so they can be compared between releases.
+// Pick benchmarks with e.g. -PjmhIncludes=GuessBenchmark.
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    findProperty("jmhIncludes")?.let { includes.set(listOf(it.toString())) }
+}
+
+// --- SIMULATOR ---
+// Headless batch games for tuning attempts and score multipliers, e.g.
+// ./gradlew simulate --args="--games=10000000 --strategy=frequency"
+tasks.register<JavaExec>("simulate") {
+    group = "application"
+    description = "Runs the headless batch game simulator."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainModule.set("github.ysbar.hangman")
+    mainClass.set("github.ysbar.hangman.Simulator")
+}
+
+// --- REPLAY ---
+// Re-plays recorded rounds on all cores and verifies their scores, e.g.
+// ./gradlew replay --args="games.hlog"   (create a large log with: simulate --args="--record=sim.hlog")
+tasks.register<JavaExec>("replay") {
+    group = "application"
+    description = "Replays and verifies recorded rounds from replay logs."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainModule.set("github.ysbar.hangman")
+    mainClass.set("github.ysbar.hangman.replay.ReplayTool")
+}
+
+// --- WORD PACKS ---
+// Compiles each CSV word list into the binary ".hwp" format read by WordService/WordPack.
+// Layout (big-endian): header [magic, version, wordCount, maxLength, payloadSize],
+// bucket table [(maxLength + 2) ints], offset table [(wordCount + 1) ints], UTF-8 payload.
+// Keep this in sync with src/main/java/github/ysbar/hangman/service/WordPack.java.
+// Packs are only used in English, so words get the same normalization as Alphabet.ENGLISH: trim, compose,
+// uppercase, fold accented letters to A-Z (CAFÉ -> CAFE), drop lines with other letters or over maxWordLength chars.
+// HangmanGame.MAX_LENGTH (one bit per position); the build script cannot read the Java constant, keep them equal.
+val maxWordLength = 64
+
+fun normalizeEnglish(raw: String): String? {
+    val word = Normalizer.normalize(raw.trim(), Normalizer.Form.NFC).uppercase(Locale.ENGLISH)
+    val out = StringBuilder(word.length)
+    var i = 0
+    while (i < word.length) {
+        val cp = word.codePointAt(i)
+        i += Character.charCount(cp)
+        when {
+            cp in 'A'.code..'Z'.code -> out.append(cp.toChar())
+            Character.getType(cp) == Character.NON_SPACING_MARK.toInt() -> {}
+            Character.isLetter(cp) -> {
+                val base = Normalizer.normalize(String(Character.toChars(cp)), Normalizer.Form.NFD)
+                if (base[0] !in 'A'..'Z' || base.drop(1).any { Character.getType(it) != Character.NON_SPACING_MARK.toInt() }) return null
+                out.append(base[0])
+            }
+            Character.isBmpCodePoint(cp) -> out.append(cp.toChar())
+            else -> return null
+        }
+    }
+    return if (out.isEmpty() || out.length > maxWordLength) null else out.toString()
+}
+
+val wordListDir = layout.projectDirectory.dir("src/main/resources/github/ysbar/hangman")
+val wordPackDir = layout.buildDirectory.dir("wordpacks")
+
+val compileWordPacks by tasks.registering {
+    group = "build"
+    description = "Compiles the CSV word lists into memory-mappable word packs."
+    inputs.files(fileTree(wordListDir) { include("*.csv") })
+    outputs.dir(wordPackDir)
+
+    doLast {
+        val outDir = wordPackDir.get().asFile
+        outDir.mkdirs()
+        wordListDir.asFile.listFiles { f -> f.extension == "csv" }!!.forEach { csv ->
+            val words = csv.readLines(Charsets.UTF_8)
+                .mapNotNull { normalizeEnglish(it) }
+                .sortedBy { it.length } // stable, so words keep file order inside a bucket
+            val maxLength = words.maxOfOrNull { it.length } ?: 0
+            val encoded = words.map { it.toByteArray(Charsets.UTF_8) }
+
+            DataOutputStream(BufferedOutputStream(FileOutputStream(File(outDir, csv.nameWithoutExtension + ".hwp")))).use { out ->
+                out.writeInt(0x4857504B) // "HWPK"
+                out.writeInt(1)
+                out.writeInt(words.size)
+                out.writeInt(maxLength)
+                out.writeInt(encoded.sumOf { it.size })
+
+                // Bucket table: first word index for every length 0..maxLength, then the end marker
+                var index = 0
+                for (length in 0..maxLength) {
+                    while (index < words.size && words[index].length < length) index++
+                    out.writeInt(index)
+                }
+                out.writeInt(words.size)
+
+                var offset = 0
+                for (bytes in encoded) {
+                    out.writeInt(offset)
+                    offset += bytes.size
+                }
+                out.writeInt(offset)
+
+                encoded.forEach { out.write(it) }
+            }
+            logger.lifecycle("Word pack ${csv.nameWithoutExtension}.hwp: ${words.size} words")
+        }
+    }
+}
+
+tasks.named<JavaExec>("run") {
+    dependsOn(compileWordPacks)
+    systemProperty("hangman.wordpacks", wordPackDir.get().asFile.absolutePath)
+}
+
+// --- SERVER ---
+// Multiplayer server (one virtual thread per connection) and its load generator, e.g.
+// ./gradlew runServer --args="7777"   and   ./gradlew loadTest --args="--clients=10000 --rounds=5"
+tasks.register<JavaExec>("runServer") {
+    group = "application"
+    description = "Runs the Hangman TCP server."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainModule.set("github.ysbar.hangman")
+    mainClass.set("github.ysbar.hangman.server.HangmanServer")
+    dependsOn(compileWordPacks)
+    systemProperty("hangman.wordpacks", wordPackDir.get().asFile.absolutePath)
 }
 
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Plays many concurrent sessions against a running Hangman server."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainModule.set("github.ysbar.hangman")
+    mainClass.set("github.ysbar.hangman.server.LoadGenerator")
+}
+
+distributions {
+    main {
+        contents {
+            from(compileWordPacks) { into("wordpacks") }
+        }
+    }
+}
+
+// --- FAST START ---
+// After jlink, a scripted training run (Launcher with -Dhangman.training=true: splash -> menu -> one round
+// -> score screen) dumps the classes it loaded into a class-data-sharing archive inside the image
+// (lib/hangman.jsa), which the launcher maps at startup instead of parsing and verifying those classes.
+// With -Paot=true (JDK 25+, e.g. -PjavaVersion=25) the run creates an ahead-of-time cache instead
+// (lib/hangman.aot), which also holds the linked classes and profiles from training.
+val aotCache = (findProperty("aot") ?: "false").toString().toBoolean()
+if (aotCache && javaVersion < 25) {
+    throw GradleException("-Paot=true needs JDK 25 or newer (e.g. -PjavaVersion=25)")
+}
+val startupArchive = if (aotCache) "lib/hangman.aot" else "lib/hangman.jsa"
+val trainingDir = layout.buildDirectory.dir("startup-training") // Holds the training run's highscores, not the user's
+
 jlink {
     imageZip.set(layout.buildDirectory.file("/distributions/app-${javafx.platform.classifier}.zip"))
-    options.set(listOf("--strip-debug", "--compress", "2", "--no-header-files", "--no-man-pages"))
+    // --generate-cds-archive: the JDK's base archive, which the application archive is layered on
+    options.set(listOf("--strip-debug", "--compress", "2", "--no-header-files", "--no-man-pages", "--generate-cds-archive"))
     launcher {
         name = "app"
+        jvmArgs = listOf(
+            "-Dhangman.wordpacks={{BIN_DIR}}/../wordpacks",
+            if (aotCache) "-XX:AOTCache={{BIN_DIR}}/../$startupArchive" else "-XX:SharedArchiveFile={{BIN_DIR}}/../$startupArchive",
+            "-Xshare:auto" // Start normally (just slower) if the archive is missing or does not match
+        )
+    }
+}
+
+// Ship the compiled word packs next to the runtime image's bin directory
+tasks.named("jlink") {
+    dependsOn(compileWordPacks)
+    doLast {
+        copy {
+            from(compileWordPacks)
+            into(jlink.imageDir.dir("wordpacks"))
+        }
+    }
+    finalizedBy("startupArchive")
+}
+
+// Runs the application from the image with the given JVM flags and returns its output
+fun runImage(vararg flags: String): List<String> {
+    val image = jlink.imageDir.get().asFile
+    val workDir = trainingDir.get().asFile.apply { mkdirs() }
+    val command = listOf(File(image, "bin/java").path) + flags + listOf(
+        "-Dhangman.wordpacks=" + File(image, "wordpacks").path,
+        "-m", "github.ysbar.hangman/github.ysbar.hangman.Launcher"
+    )
+    val process = ProcessBuilder(command).directory(workDir).redirectErrorStream(true).start()
+    val output = process.inputStream.bufferedReader().readLines()
+    if (process.waitFor() != 0) {
+        throw GradleException("Application exited with ${process.exitValue()}:\n" + output.joinToString("\n"))
+    }
+    return output
+}
+
+tasks.register("startupArchive") {
+    group = "build"
+    description = "Creates the class-data-sharing archive (or AOT cache) of the runtime image from a training run."
+    dependsOn("jlink")
+    doLast {
+        val archive = jlink.imageDir.file(startupArchive).get().asFile
+        archive.delete()
+        val dumpFlag = if (aotCache) "-XX:AOTCacheOutput=" else "-XX:ArchiveClassesAtExit="
+        runImage(dumpFlag + archive.path, "-Dhangman.training=true")
+        logger.lifecycle("Startup archive: ${archive.name} (${archive.length() / 1024} KB)")
+    }
+}
+
+tasks.named("jlinkZip") {
+    dependsOn("startupArchive")
+}
+
+// Measures the time from JVM start to the first frame showing the main menu (needs a display).
+// ./gradlew startupBenchmark -PstartupRuns=10
+tasks.register("startupBenchmark") {
+    group = "verification"
+    description = "Compares time to the first interactive frame with and without the startup archive."
+    dependsOn("startupArchive")
+    doLast {
+        val runs = (findProperty("startupRuns") ?: "5").toString().toInt()
+        val archive = jlink.imageDir.file(startupArchive).get().asFile.path
+        val archiveFlag = if (aotCache) "-XX:AOTCache=$archive" else "-XX:SharedArchiveFile=$archive"
+
+        fun medianMillis(vararg flags: String): Long {
+            val times = (1..runs).map {
+                runImage(*flags, "-Dhangman.exitAfterStartup=true")
+                    .firstOrNull { it.startsWith("STARTUP: first-interactive-frame-ms=") }
+                    ?.substringAfter('=')?.trim()?.toLong()
+                    ?: throw GradleException("The application did not report its first interactive frame")
+            }.sorted()
+            return times[times.size / 2]
+        }
+
+        val without = medianMillis("-Xshare:auto")
+        val with = medianMillis(archiveFlag, "-Xshare:auto")
+        logger.lifecycle("Time to first interactive frame (median of $runs runs): $without ms without, $with ms with ${File(archive).name}")
     }
 }
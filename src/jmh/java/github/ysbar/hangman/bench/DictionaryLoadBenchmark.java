@@ -0,0 +1,83 @@
+package github.ysbar.hangman.bench;
+
+import github.ysbar.hangman.engine.Alphabet;
+import github.ysbar.hangman.service.WordDictionary;
+import github.ysbar.hangman.service.WordIndex;
+import github.ysbar.hangman.service.WordPack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: Measures loading a dictionary of 1k / 100k / 1M words from CSV and from a
+ * memory-mapped word pack, and building the WordIndex over it.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DictionaryLoadBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int words;
+
+    private Path dir;
+    private Path csv;
+    private Path pack;
+    private WordDictionary loaded;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("hangman-bench");
+        csv = dir.resolve("words.csv");
+        pack = dir.resolve("words" + WordPack.EXTENSION);
+        WordFixtures.writeCsv(csv, WordFixtures.randomWords(words, 42));
+        WordFixtures.writePack(pack, WordFixtures.randomWords(words, 42));
+        loaded = loadCsv();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(pack);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public WordDictionary loadCsv() throws IOException {
+        try (InputStream in = Files.newInputStream(csv)) {
+            return WordDictionary.load(in);
+        }
+    }
+
+    @Benchmark
+    public int openPack() throws IOException {
+        WordPack wordPack = WordPack.open(pack);
+        return wordPack.wordAt(wordPack.size() / 2).length();
+    }
+
+    @Benchmark
+    public WordIndex buildIndex() {
+        return WordIndex.build(loaded, Alphabet.current());
+    }
+}
@@ -0,0 +1,64 @@
+package github.ysbar.hangman.bench;
+
+import github.ysbar.hangman.engine.GuessResult;
+import github.ysbar.hangman.engine.HangmanGame;
+import github.ysbar.hangman.engine.MaskedWord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY: Measures the guess / hint / win-check path that GameController runs for every key press.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GuessBenchmark {
+
+    private static final String WORD = "STRAIGHTFORWARD";
+    private static final char[] FREQUENCY_ORDER = "ETAOINSHRDLUCMFWYPVBGKJQXZ".toCharArray();
+
+    private HangmanGame game;
+    private final MaskedWord maskedWord = new MaskedWord();
+
+    @Setup
+    public void setup() {
+        game = new HangmanGame(WORD, 26, new SplittableRandom(7));
+    }
+
+    /**
+     * A full round: guesses in frequency order until the word is won, with a display refresh after each hit.
+     */
+    @Benchmark
+    public void fullRound(Blackhole bh) {
+        game.start(WORD, 26);
+        for (char letter : FREQUENCY_ORDER) {
+            GuessResult result = game.guess(letter);
+            if (result == GuessResult.IGNORED) break;
+            if (result == GuessResult.HIT) bh.consume(maskedWord.refresh(game));
+        }
+        bh.consume(game.getStatus());
+    }
+
+    @Benchmark
+    public GuessResult singleGuess() {
+        game.start(WORD, 6);
+        return game.guess('T');
+    }
+
+    @Benchmark
+    public char hint() {
+        game.start(WORD, 6);
+        return game.hint();
+    }
+}
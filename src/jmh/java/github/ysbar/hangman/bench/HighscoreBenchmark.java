@@ -0,0 +1,76 @@
+package github.ysbar.hangman.bench;
+
+import github.ysbar.hangman.service.HighscoreService;
+import github.ysbar.hangman.service.ScoreRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: Measures HighscoreService reads and ledger appends against a temporary file
+ * (never the real highscore.ledger).
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HighscoreBenchmark {
+
+    private File file;
+    private HighscoreService service;
+    private int score;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("hangman-highscore", ".ledger").toFile();
+        file.delete(); // The ledger creates the file with its header
+        service = new HighscoreService(file);
+        service.recordSession(1000, 1, "Medium", 6, 60_000).join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        HighscoreService.closeAll();
+        file.delete();
+    }
+
+    @Benchmark
+    public int[] load() {
+        return service.loadHighscore();
+    }
+
+    @Benchmark
+    public List<ScoreRecord> leaderboard() {
+        return service.getLeaderboard();
+    }
+
+    /**
+     * Always a new best score, waiting until it is on disk: hand-off to the writer thread,
+     * append, fsync and leaderboard update.
+     */
+    @Benchmark
+    public void recordNewHighscore() {
+        service.recordSession(++score + 1000, 1, "Medium", 6, 60_000).join();
+    }
+
+    /**
+     * What the UI thread pays: only queueing the result (the writer coalesces the backlog).
+     */
+    @Benchmark
+    public void recordWithoutWaiting() {
+        service.recordSession(0, 0, "Easy", 9, 60_000);
+    }
+}
@@ -0,0 +1,81 @@
+package github.ysbar.hangman.bench;
+
+import github.ysbar.hangman.service.WordPack;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: Generates synthetic word lists of any size for the benchmarks,
+ * as CSV and in the same ".hwp" layout the compileWordPacks Gradle task writes.
+ */
+
+final class WordFixtures {
+
+    // Roughly English letter frequencies, so indexes and solvers see realistic data
+    private static final String LETTERS = "EEEEEEEEEEEETTTTTTTTTAAAAAAAAOOOOOOOIIIIIIINNNNNNNSSSSSSHHHHHHRRRRRRDDDDLLLLUUUCCCMMMWWFFGGYYPPBBVKJXQZ";
+
+    private WordFixtures() {}
+
+    static List<String> randomWords(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> words = new ArrayList<>(count);
+        char[] buffer = new char[15];
+        for (int i = 0; i < count; i++) {
+            int length = 3 + random.nextInt(13);
+            for (int c = 0; c < length; c++) buffer[c] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+            words.add(new String(buffer, 0, length));
+        }
+        return words;
+    }
+
+    static void writeCsv(Path file, List<String> words) throws IOException {
+        Files.write(file, words, StandardCharsets.UTF_8);
+    }
+
+    static void writePack(Path file, List<String> words) throws IOException {
+        List<byte[]> encoded = new ArrayList<>(words.size());
+        List<String> sorted = new ArrayList<>(words);
+        sorted.sort(Comparator.comparingInt(String::length));
+        int maxLength = 0, payloadSize = 0;
+        for (String word : sorted) {
+            byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            maxLength = Math.max(maxLength, word.length());
+            payloadSize += bytes.length;
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(WordPack.MAGIC);
+            out.writeInt(WordPack.VERSION);
+            out.writeInt(sorted.size());
+            out.writeInt(maxLength);
+            out.writeInt(payloadSize);
+
+            int index = 0;
+            for (int length = 0; length <= maxLength; length++) {
+                while (index < sorted.size() && sorted.get(index).length() < length) index++;
+                out.writeInt(index);
+            }
+            out.writeInt(sorted.size());
+
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                out.writeInt(offset);
+                offset += bytes.length;
+            }
+            out.writeInt(offset);
+
+            for (byte[] bytes : encoded) out.write(bytes);
+        }
+    }
+}
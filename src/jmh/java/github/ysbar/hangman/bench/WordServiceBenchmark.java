@@ -0,0 +1,40 @@
+package github.ysbar.hangman.bench;
+
+import github.ysbar.hangman.service.WordService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: Measures WordService.getRandomWord for each difficulty once the lists are loaded.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WordServiceBenchmark {
+
+    @Param({ "Easy", "Medium", "Hard" })
+    public String difficulty;
+
+    private final WordService wordService = new WordService();
+
+    @Setup
+    public void setup() {
+        // Loading is measured separately in DictionaryLoadBenchmark
+        wordService.preloadAll();
+    }
+
+    @Benchmark
+    public String getRandomWord() {
+        return wordService.getRandomWord(difficulty);
+    }
+}
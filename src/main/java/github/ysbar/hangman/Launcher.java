@@ -1,24 +1,43 @@
 package github.ysbar.hangman;
 
+import github.ysbar.hangman.controller.ScoreController;
+import github.ysbar.hangman.metrics.MetricsDumper;
+import github.ysbar.hangman.replay.GameRecorder;
+import github.ysbar.hangman.service.HighscoreService;
 import github.ysbar.hangman.service.SceneSwitcher;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import java.time.Duration;
+import java.time.Instant;
+
 /**
  * MAIN ENTRY POINT
  * Responsibilities:
  * 1. Initializes the JavaFX Application.
  * 2. Sets up the primary Stage (Window) properties.
  * 3. Delegates the initial view loading to SceneSwitcher.
+ * 4. Saves the word schedule, the running session's score and the replay log on exit.
+ * 5. Logs the time to the first interactive frame (the first frame showing the main menu),
+ *    and runs the scripted TrainingRun when the build creates the class-data-sharing archive.
+ * 6. Writes the metrics to a file while running, if -Dhangman.metrics=<file> is set (see MetricsDumper).
  */
 
 public class Launcher extends Application {
 
+    // -Dhangman.training=true: click through one scripted session, then exit (see TrainingRun)
+    private static final String TRAINING_PROPERTY = "hangman.training";
+    // -Dhangman.exitAfterStartup=true: exit once the menu is interactive (startup benchmark)
+    private static final String EXIT_AFTER_STARTUP_PROPERTY = "hangman.exitAfterStartup";
+
     // Service to handle scene transitions
     private SceneSwitcher sceneSwitcher = new SceneSwitcher();
 
     @Override
     public void start(Stage stage) {
+        MetricsDumper.startFromSystemProperties();
         stage.setTitle("Hangman");
 
         // UX: Enforce minimum window size to prevent layout breakage
@@ -27,10 +46,40 @@ public class Launcher extends Application {
 
         // Start the application flow with the Splash Screen
         sceneSwitcher.switchTo("SplashScreen", stage);
+        reportFirstInteractiveFrame(stage.getScene());
+        if (Boolean.getBoolean(TRAINING_PROPERTY)) {
+            new TrainingRun(stage).start();
+        }
         stage.show();
     }
 
+    /**
+     * Prints "STARTUP: first-interactive-frame-ms=N" (measured from JVM start) after the first
+     * frame with the main menu has been laid out. The startup benchmark task parses this line.
+     */
+    private void reportFirstInteractiveFrame(Scene scene) {
+        Instant processStart = ProcessHandle.current().info().startInstant().orElse(Instant.now());
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            if (!"MainMenu".equals(SceneSwitcher.currentSceneName())) return;
+            scene.removePostLayoutPulseListener(listener[0]);
+
+            System.out.println("STARTUP: first-interactive-frame-ms=" + Duration.between(processStart, Instant.now()).toMillis());
+            if (Boolean.getBoolean(EXIT_AFTER_STARTUP_PROPERTY)) Platform.exit();
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    @Override
+    public void stop() {
+        // A session still in progress counts as finished; then wait for the highscore writer
+        ScoreController.finishSession(SceneSwitcher.session(), new HighscoreService());
+        HighscoreService.closeAll();
+        GameRecorder.closeAll();
+        MetricsDumper.stop();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
-}
\ No newline at end of file
+}
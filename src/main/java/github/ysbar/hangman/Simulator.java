@@ -0,0 +1,247 @@
+package github.ysbar.hangman;
+
+import github.ysbar.hangman.engine.Alphabet;
+import github.ysbar.hangman.engine.EntropyStrategy;
+import github.ysbar.hangman.engine.FrequencyStrategy;
+import github.ysbar.hangman.engine.GameStatus;
+import github.ysbar.hangman.engine.GuessStrategy;
+import github.ysbar.hangman.engine.HangmanGame;
+import github.ysbar.hangman.engine.RandomStrategy;
+import github.ysbar.hangman.engine.Scoring;
+import github.ysbar.hangman.engine.SolverIndex;
+import github.ysbar.hangman.replay.GameLog;
+import github.ysbar.hangman.replay.GameLogWriter;
+import github.ysbar.hangman.service.DifficultyPreset;
+import github.ysbar.hangman.service.WordIndex;
+import github.ysbar.hangman.service.WordService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * COMMAND-LINE ENTRY POINT (no UI)
+ * Responsibilities:
+ * 1. Plays N headless games per (difficulty, strategy) with the real word presets and scoring.
+ * 2. Spreads the games over all cores (parallel stream over fixed-size chunks).
+ * 3. Reports win rate, score distribution and the hardest words, to tune attempts and multipliers.
+ * 4. With --record, writes every game to a replay log (e.g. to test ReplayTool on millions of rounds).
+ *
+ * Usage: Simulator [--games=1000000] [--attempts=6] [--difficulty=all|Easy|Medium|Hard]
+ *                  [--strategy=all|frequency|random|entropy] [--seed=1] [--record=games.hlog]
+ */
+
+public class Simulator {
+
+    private static final int CHUNK_SIZE = 50_000; // Games per parallel task
+    private static final int HARDEST_WORDS = 10;  // Words listed per report
+    private static final int MIN_PLAYS = 20;      // Words played less often are not ranked
+
+    public static void main(String[] args) {
+        Map<String, String> options = parseOptions(args);
+        long games = Long.parseLong(options.getOrDefault("games", "1000000"));
+        int attempts = Integer.parseInt(options.getOrDefault("attempts", "6"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        String difficultyOption = options.getOrDefault("difficulty", "all");
+        String strategyOption = options.getOrDefault("strategy", "all");
+        String recordOption = options.get("record");
+
+        WordService wordService = new WordService();
+        WordIndex index = wordService.getIndex();
+
+        // Solver bitmaps over all dictionary words, shared read-only by every EntropyStrategy instance
+        SolverIndex solverIndex = wordService.getSolverIndex();
+
+        // Each chunk gets its own strategy instance, seeded from the chunk's random
+        Map<String, Function<SplittableRandom, GuessStrategy>> strategies = new LinkedHashMap<>();
+        strategies.put("frequency", random -> new FrequencyStrategy());
+        strategies.put("random", RandomStrategy::new);
+        strategies.put("entropy", random -> new EntropyStrategy(solverIndex));
+
+        System.out.printf("Simulating %,d games per setting with %d attempts on %d cores%n",
+                games, attempts, Runtime.getRuntime().availableProcessors());
+
+        GameLogWriter recorder = null;
+        if (recordOption != null) {
+            try {
+                recorder = new GameLogWriter(Path.of(recordOption));
+            } catch (IOException e) {
+                System.err.println("ERROR: Cannot write replay log " + recordOption + ": " + e.getMessage());
+                return;
+            }
+        }
+
+        for (DifficultyPreset preset : DifficultyPreset.values()) {
+            if (!difficultyOption.equals("all") && !difficultyOption.equalsIgnoreCase(preset.label())) continue;
+            int[] deck = index.collect(preset.query());
+            if (deck.length == 0) continue;
+
+            for (Map.Entry<String, Function<SplittableRandom, GuessStrategy>> strategy : strategies.entrySet()) {
+                if (!strategyOption.equals("all") && !strategyOption.equalsIgnoreCase(strategy.getKey())) continue;
+
+                long start = System.nanoTime();
+                Stats stats = simulate(games, attempts, preset, deck, index, strategy.getValue(), seed, recorder);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                report(preset, strategy.getKey(), attempts, deck, index, stats, seconds);
+            }
+        }
+
+        if (recorder != null) {
+            try {
+                recorder.close();
+                System.out.println("Replay log written to " + recordOption);
+            } catch (IOException e) {
+                System.err.println("ERROR: Failed to close replay log: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Plays the games in parallel chunks; each chunk has its own game, strategy and random,
+     * so results only depend on the seed, not on the number of cores.
+     * @param recorder Replay log for every game, or null.
+     */
+    static Stats simulate(long games, int attempts, DifficultyPreset preset, int[] deck, WordIndex index,
+                          Function<SplittableRandom, GuessStrategy> strategyFactory, long seed, GameLogWriter recorder) {
+        int chunks = (int) ((games + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    long chunkGames = Math.min(CHUNK_SIZE, games - (long) chunk * CHUNK_SIZE);
+                    SplittableRandom random = new SplittableRandom(seed * 31 + chunk);
+                    return playChunk(chunkGames, attempts, preset, deck, index, strategyFactory.apply(random), random, recorder);
+                })
+                .reduce(Stats::merge)
+                .orElseGet(() -> new Stats(attempts, deck.length));
+    }
+
+    private static Stats playChunk(long games, int attempts, DifficultyPreset preset, int[] deck, WordIndex index,
+                                   GuessStrategy strategy, SplittableRandom random, GameLogWriter recorder) {
+        Stats stats = new Stats(attempts, deck.length);
+        HangmanGame game = new HangmanGame("A", attempts, random, index.alphabet());
+        List<GameLog> logs = (recorder != null) ? new ArrayList<>() : null;
+        byte[] moves = new byte[Alphabet.MAX_LETTERS]; // A round guesses each letter at most once
+
+        for (long g = 0; g < games; g++) {
+            int slot = random.nextInt(deck.length);
+            game.start(index.wordAt(deck[slot]), attempts);
+            int moveCount = 0;
+            while (game.getStatus() == GameStatus.PLAYING) {
+                char letter = strategy.nextGuess(game);
+                game.guess(letter);
+                if (moveCount < moves.length) moves[moveCount++] = (byte) (GameLog.MOVE_GUESS + game.getAlphabet().indexOf(letter));
+            }
+
+            boolean win = game.getStatus() == GameStatus.WON;
+            int score = Scoring.roundScore(win, game.getRemainingAttempts(), preset.label());
+            stats.record(slot, win, win ? game.getRemainingAttempts() : 0, score);
+            if (logs != null) {
+                logs.add(new GameLog(game.getSeed(), 0, preset.label(), attempts, game.getAlphabet(), game.getSecretWord(),
+                        Arrays.copyOf(moves, moveCount), new int[moveCount], score));
+            }
+        }
+
+        if (logs != null) {
+            try {
+                recorder.appendAll(logs); // One locked append per chunk
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return stats;
+    }
+
+    private static void report(DifficultyPreset preset, String strategy, int attempts, int[] deck,
+                               WordIndex index, Stats stats, double seconds) {
+        System.out.printf("%n=== %s / %s (%,d words) ===%n", preset.label(), strategy, deck.length);
+        System.out.printf("Games: %,d in %.1f s (%,.0f games/s)%n", stats.games, seconds, stats.games / seconds);
+        System.out.printf("Win rate: %.2f %%   Average score: %.1f%n",
+                100.0 * stats.wins / stats.games, (double) stats.totalScore / stats.games);
+
+        // Score distribution: a won round scores (lives left x 1000 x multiplier)
+        System.out.println("Lives left on win -> share of games:");
+        for (int lives = attempts; lives >= 1; lives--) {
+            System.out.printf("  %2d (%6d pts): %6.2f %%%n", lives,
+                    Scoring.roundScore(true, lives, preset.label()), 100.0 * stats.livesLeft[lives] / stats.games);
+        }
+        System.out.printf("  lost (     0 pts): %6.2f %%%n", 100.0 * (stats.games - stats.wins) / stats.games);
+
+        // Per-word difficulty: lowest win rate first
+        List<Integer> ranked = new ArrayList<>();
+        for (int slot = 0; slot < deck.length; slot++) {
+            if (stats.wordPlays[slot] >= MIN_PLAYS) ranked.add(slot);
+        }
+        ranked.sort((a, b) -> Double.compare(stats.winRate(a), stats.winRate(b)));
+        System.out.println("Hardest words:");
+        for (int i = 0; i < Math.min(HARDEST_WORDS, ranked.size()); i++) {
+            int slot = ranked.get(i);
+            System.out.printf("  %-16s %6.2f %% of %,d%n", index.wordAt(deck[slot]),
+                    100 * stats.winRate(slot), stats.wordPlays[slot]);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                System.err.println("ERROR: Ignoring argument (expected --name=value): " + arg);
+                continue;
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Results of a batch of games; merged across chunks after the parallel run.
+     */
+    static final class Stats {
+        long games;
+        long wins;
+        long totalScore;
+        final long[] livesLeft;  // Won games by lives left (index 0 unused)
+        final int[] wordPlays;   // Per deck slot
+        final int[] wordWins;
+
+        Stats(int attempts, int words) {
+            livesLeft = new long[attempts + 1];
+            wordPlays = new int[words];
+            wordWins = new int[words];
+        }
+
+        void record(int slot, boolean win, int lives, int score) {
+            games++;
+            wordPlays[slot]++;
+            if (win) {
+                wins++;
+                wordWins[slot]++;
+                livesLeft[lives]++;
+                totalScore += score;
+            }
+        }
+
+        double winRate(int slot) {
+            return (double) wordWins[slot] / wordPlays[slot];
+        }
+
+        Stats merge(Stats other) {
+            games += other.games;
+            wins += other.wins;
+            totalScore += other.totalScore;
+            for (int i = 0; i < livesLeft.length; i++) livesLeft[i] += other.livesLeft[i];
+            for (int i = 0; i < wordPlays.length; i++) {
+                wordPlays[i] += other.wordPlays[i];
+                wordWins[i] += other.wordWins[i];
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package github.ysbar.hangman;
+
+import github.ysbar.hangman.engine.Alphabet;
+import github.ysbar.hangman.service.SceneSwitcher;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+/**
+ * SCRIPTED TRAINING RUN (started by Launcher with -Dhangman.training=true)
+ * Responsibilities:
+ * 1. Clicks through splash -> menu -> configuration -> one full round -> score screen, using the real
+ *    buttons, so every class a normal session needs is loaded and the hot paths have run.
+ * 2. Exits afterwards; the build uses the run to dump the class-data-sharing archive (see build.gradle.kts).
+ */
+
+class TrainingRun {
+
+    private static final String GUESS_ORDER = Alphabet.current().frequencyOrder();
+    private static final Duration STEP = Duration.millis(100);
+    private static final Duration TIMEOUT = Duration.seconds(60);
+
+    private final Stage stage;
+    private final Timeline script = new Timeline();
+    private boolean leftMenu;
+    private int guesses;
+
+    TrainingRun(Stage stage) {
+        this.stage = stage;
+    }
+
+    void start() {
+        System.out.println("INFO: Training run started.");
+        script.getKeyFrames().add(new KeyFrame(STEP, e -> step()));
+        script.setCycleCount(Timeline.INDEFINITE);
+        script.play();
+
+        // ERROR HANDLING: never hang the build if a screen changes and the script gets stuck
+        Timeline timeout = new Timeline(new KeyFrame(TIMEOUT, e -> {
+            System.err.println("ERROR: Training run timed out in scene " + SceneSwitcher.currentSceneName());
+            Platform.exit();
+        }));
+        timeout.play();
+    }
+
+    // One action per tick, depending on the scene currently shown
+    private void step() {
+        String scene = SceneSwitcher.currentSceneName();
+        if (scene == null) return;
+
+        switch (scene) {
+            case "MainMenu" -> {
+                if (leftMenu) return;
+                leftMenu = true;
+                new SceneSwitcher().switchTo("Configuration", stage);
+            }
+            case "Configuration" -> click(".start-btn");
+            case "Gameplay" -> guessNextLetter();
+            case "ScoreScreen" -> {
+                script.stop();
+                System.out.println("INFO: Training run finished.");
+                Platform.exit();
+            }
+            default -> { } // Splash: wait for the startup pipeline
+        }
+    }
+
+    // Guesses the next enabled letter in frequency order (does nothing once the round is over),
+    // alternating between clicking its on-screen key and typing it, so both input paths are trained
+    private void guessNextLetter() {
+        for (int i = 0; i < GUESS_ORDER.length(); i++) {
+            String letter = String.valueOf(GUESS_ORDER.charAt(i));
+            for (Node node : stage.getScene().getRoot().lookupAll(".key-button")) {
+                if (node instanceof Button key && key.getText().equals(letter) && !key.isDisabled()) {
+                    if (guesses++ % 2 == 0) key.fire();
+                    else type(letter);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void type(String letter) {
+        KeyCode code = KeyCode.getKeyCode(letter); // Only Latin letters have a key code of their own
+        Event.fireEvent(stage.getScene(), new KeyEvent(KeyEvent.KEY_PRESSED, letter.toLowerCase(), letter,
+                (code != null) ? code : KeyCode.UNDEFINED, false, false, false, false));
+    }
+
+    private void click(String selector) {
+        Node node = stage.getScene().getRoot().lookup(selector);
+        if (node instanceof Button button && !button.isDisabled()) button.fire();
+    }
+}
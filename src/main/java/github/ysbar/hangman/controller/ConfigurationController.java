@@ -1,44 +1,98 @@
 package github.ysbar.hangman.controller;
 
-import github.ysbar.hangman.model.DataHolder;
+import github.ysbar.hangman.model.GameSession;
+import github.ysbar.hangman.model.SessionConfig;
+import github.ysbar.hangman.service.DailyChallenge;
+import github.ysbar.hangman.service.ReusableController;
 import github.ysbar.hangman.service.SceneSwitcher;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
 import javafx.scene.control.RadioButton;
 import javafx.event.ActionEvent;
+import javafx.stage.Stage;
 
 /**
  * @AUTHOR: Siqi
  * RESPONSIBILITY:
  * Handles the game setup phase.
  * It reads the user's selection from RadioButtons (Difficulty & Attempts),
- * saves these settings to the global DataHolder model, and starts the game.
+ * saves these settings to the player's GameSession, and starts the game
+ * (or today's daily challenge for the selected word difficulty, once per day).
  */
 
-public class ConfigurationController {
+public class ConfigurationController implements ReusableController {
     @FXML private RadioButton easyRadio, mediumRadio, hardRadio;
     @FXML private RadioButton wordEasy, wordMedium, wordHard;
+    @FXML private RadioButton hintRandom, hintSmart;
+    @FXML private Button dailyButton;
+    @FXML private Label dailyStatus; // Why the daily challenge cannot be started
 
     private SceneSwitcher sceneSwitcher = new SceneSwitcher();
+    private final GameSession session; // Injected by SceneSwitcher's controller factory
+
+    public ConfigurationController(GameSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Called every time the (cached) Configuration scene is shown.
+     */
+    @Override
+    public void activate() {
+        dailyStatus.setText("");
+    }
 
     @FXML
     private void handleStartGame(ActionEvent event) {
         int attempts = 6;
-        String diff = "Medium";
 
         // Determine Attempts based on UI selection
         if (easyRadio != null && easyRadio.isSelected()) attempts = 9;
         else if (hardRadio != null && hardRadio.isSelected()) attempts = 3;
 
-        // Determine Difficulty based on UI selection
-        if (wordEasy != null && wordEasy.isSelected()) diff = "Easy";
-        else if (wordHard != null && wordHard.isSelected()) diff = "Hard";
-
-        // Save settings to DataHolder (Model)
-        DataHolder.targetAttempts = attempts;
-        DataHolder.difficulty = diff;
-        DataHolder.resetScore();
+        // Save settings to the session (Model); a new configuration starts a new session score
+        session.configure(new SessionConfig(selectedDifficulty(), attempts, hintSmart != null && hintSmart.isSelected()));
+        session.resetScore();
 
         // Switch to Game
         sceneSwitcher.switchTo("Gameplay", event);
     }
+
+    @FXML
+    private void handleDailyChallenge(ActionEvent event) {
+        String difficulty = selectedDifficulty();
+        long day = DailyChallenge.today();
+        Stage stage = (Stage) dailyButton.getScene().getWindow();
+
+        // One attempt per day and difficulty; the check reads the day's ledger on the writer thread
+        dailyButton.setDisable(true);
+        DailyChallenge.isPlayed(day, difficulty).whenComplete((played, error) -> Platform.runLater(() -> {
+            dailyButton.setDisable(false); // Also after a failed check, so the player can try again
+            if (error != null) {
+                // ERROR HANDLING: the day's ledger could not be read; do not risk a second attempt
+                System.err.println("ERROR: Could not check the daily challenge: " + error.getMessage());
+                dailyStatus.setText("The daily challenge is not available right now, please try again.");
+                return;
+            }
+            if (played) {
+                dailyStatus.setText("Today's " + difficulty + " challenge was already played.");
+                return;
+            }
+
+            // Every player gets the same word, lives and hint mode, so only the word difficulty is chosen
+            session.configure(new SessionConfig(difficulty, DailyChallenge.ATTEMPTS, DailyChallenge.SMART_HINTS));
+            session.resetScore();
+            session.startDaily(day);
+            sceneSwitcher.switchTo("Gameplay", stage);
+        }));
+    }
+
+    // Determine Difficulty based on UI selection
+    private String selectedDifficulty() {
+        if (wordEasy != null && wordEasy.isSelected()) return "Easy";
+        if (wordHard != null && wordHard.isSelected()) return "Hard";
+        return "Medium";
+    }
 }
\ No newline at end of file
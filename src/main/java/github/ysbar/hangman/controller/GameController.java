@@ -1,35 +1,56 @@
 package github.ysbar.hangman.controller;
 
-import github.ysbar.hangman.model.DataHolder;
+import github.ysbar.hangman.engine.Alphabet;
+import github.ysbar.hangman.engine.GameListener;
+import github.ysbar.hangman.engine.GuessResult;
+import github.ysbar.hangman.engine.HangmanGame;
+import github.ysbar.hangman.engine.MaskedWord;
+import github.ysbar.hangman.engine.Solver;
+import github.ysbar.hangman.metrics.HangmanEvents;
+import github.ysbar.hangman.metrics.LatencyHistogram;
+import github.ysbar.hangman.metrics.Metrics;
+import github.ysbar.hangman.model.GameSession;
+import github.ysbar.hangman.model.SessionConfig;
+import github.ysbar.hangman.replay.GameRecorder;
+import github.ysbar.hangman.service.DailyChallenge;
+import github.ysbar.hangman.service.HighscoreService;
+import github.ysbar.hangman.service.ReusableController;
 import github.ysbar.hangman.service.SceneSwitcher;
+import github.ysbar.hangman.service.WordScheduler;
 import github.ysbar.hangman.service.WordService;
-import javafx.animation.AnimationTimer;
 import javafx.animation.PauseTransition;
+import javafx.beans.value.ChangeListener;
+import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
-import javafx.scene.shape.Circle;
-import javafx.scene.shape.Line;
-import javafx.scene.shape.StrokeLineCap;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 import javafx.util.Duration;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+
+import java.nio.file.Path;
 
 /**
  * @AUTHOR: Julian
  * RESPONSIBILITY:
  * This class manages the active gameplay session. It handles user input
- * (keyboard clicks), updates the game state (score, lives), draws the
- * hangman figure incrementally, and manages the game timer.
+ * (on-screen key clicks and the physical keyboard), forwards it to the headless HangmanGame engine, renders
+ * the engine's events (revealed letters, lives, hangman figure) and manages the game timer
+ * (which pauses while the window is in the background).
+ * Every round is recorded to the replay log "games.hlog" (see the replay package).
+ * Words come from the player's own no-repeat decks, saved to WordScheduler.DEFAULT_FILE after every round.
+ *
+ * METRICS: "guess.ui" (click to updated view); JFR event Guess.
  */
 
-public class GameController {
+public class GameController implements GameListener, ReusableController {
+
+    private static final LatencyHistogram GUESS_TIME = Metrics.histogram("guess.ui");
 
     // --- FXML INJECTIONS (View Elements) ---
     @FXML private Label timerLabel;    // Displays elapsed time
@@ -41,24 +62,64 @@ public class GameController {
 
     // --- SERVICES (Dependency Injection / Separation of Concerns) ---
     private WordService wordService = new WordService();     // Handles file I/O to get words
+    private DailyChallenge daily = new DailyChallenge(wordService); // Word and seed of the day's challenge
+    private HighscoreService highscoreService = new HighscoreService(); // Checkpoints of the running session
     private SceneSwitcher sceneSwitcher = new SceneSwitcher(); // Handles scene transitions
+    private final GameSession session;  // Settings and score of the player, injected by SceneSwitcher's controller factory
 
     // --- GAME STATE VARIABLES ---
-    private String secretWord;          // The actual word to guess (e.g., "JAVA")
-    private StringBuilder currentGuess; // The current state of the guess (e.g., "_ A _ A")
-    private int maxAttempts;            // Total allowed lives
-    private int remainingAttempts;      // Current lives left
-    private long startTime;             // Timestamp when the round started
-    private AnimationTimer timer;       // JavaFX timer for real-time updates
+    private HangmanGame game;           // Rules and state of the current round (word, revealed letters, lives)
+    private final MaskedWord maskedWord = new MaskedWord(); // Reused buffer for the "_ A _ A" display
+    private final Alphabet alphabet = Alphabet.current(); // Letters of the keyboard and of every round
+    private final Button[] keys = new Button[alphabet.size()]; // On-screen key of each letter, by alphabet index
+    private final EventHandler<KeyEvent> keyHandler = this::handleKeyPressed; // Scene filter while shown
+    private HangmanFigure figure;       // Gallows shapes in drawingPane, built once and shown stage by stage
+    private Solver hintSolver;          // Picks the most informative hint letter (only with smart hints)
+    private WordScheduler decks;        // The player's no-repeat word decks, created with the first round
+    private final GameRecorder recorder = new GameRecorder(Path.of("games.hlog")); // Moves of each round, for replays
+    private RoundTimer timer;           // Elapsed time of the round, shown once per second
+    private Window window;              // Window whose focus pauses the timer (while the scene is shown)
+    private final ChangeListener<Boolean> focusListener = (obs, wasFocused, focused) -> {
+        if (focused) timer.resume(); else timer.pause();
+    };
+
+    public GameController(GameSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Scene Lifecycle: activate()
+     * Called by SceneSwitcher every time the (cached) Gameplay scene is shown.
+     * Starts a new round with the settings of the session, and pauses its clock whenever the window loses focus.
+     */
+    @Override
+    public void activate() {
+        SessionConfig config = session.getConfig();
+        setupGame(config.difficulty(), config.attempts());
+
+        // Physical keyboard: a filter on the scene sees every key press, whichever control has the focus
+        wordDisplay.getScene().removeEventFilter(KeyEvent.KEY_PRESSED, keyHandler); // Never registered twice
+        wordDisplay.getScene().addEventFilter(KeyEvent.KEY_PRESSED, keyHandler);
+
+        window = wordDisplay.getScene().getWindow();
+        if (window != null) {
+            window.focusedProperty().addListener(focusListener);
+            if (!window.isFocused()) timer.pause();
+        }
+    }
 
     /**
-     * JavaFX Lifecycle Method: initialize()
-     * Called automatically after the FXML file is loaded.
-     * Starts the game setup immediately.
+     * Scene Lifecycle: reset()
+     * Called when another scene replaces Gameplay; the clock must not keep running in the background.
      */
-    public void initialize() {
-        // Fetch settings from the global DataHolder model
-        setupGame(DataHolder.difficulty, DataHolder.targetAttempts);
+    @Override
+    public void reset() {
+        if (timer != null) timer.stop();
+        if (wordDisplay.getScene() != null) wordDisplay.getScene().removeEventFilter(KeyEvent.KEY_PRESSED, keyHandler);
+        if (window != null) {
+            window.focusedProperty().removeListener(focusListener);
+            window = null;
+        }
     }
 
     /**
@@ -67,77 +128,82 @@ public class GameController {
      * @param attempts The number of lives allowed.
      */
     public void setupGame(String difficulty, int attempts) {
-        this.maxAttempts = attempts;
-        this.remainingAttempts = attempts;
-
-        // Step 1: Get a random word using the WordService
-        this.secretWord = wordService.getRandomWord(difficulty);
-
-        // Step 2: Create the masked string (underscores)
-        currentGuess = new StringBuilder();
-        for (int i = 0; i < secretWord.length(); i++) {
-            currentGuess.append("_");
+        // Step 1: Get a random word using the WordService (or the day's word for the daily challenge)
+        String secretWord = session.isDaily()
+                ? daily.wordFor(difficulty, session.getDailyDay())
+                : wordService.getRandomWord(difficulty, decks());
+
+        // Step 2: Start a new round in the engine (reused across rounds); its events are rendered by this controller
+        if (game == null) {
+            game = new HangmanGame(secretWord, attempts);
+            game.setListener(this);
+        }
+        if (session.isDaily()) {
+            // The day's seed: random hints reveal the same letters for every player
+            game.start(secretWord, attempts, daily.seedFor(difficulty, session.getDailyDay()));
+        } else {
+            game.start(secretWord, attempts);
         }
+        recorder.startRound(game, difficulty);
 
         // Step 3: Update UI elements
-        wordDisplay.setText(formatCurrentGuess());
+        maskedWord.refresh(game);
+        wordDisplay.setText(maskedWord.text());
         // Inline styling for the specific font and size requested
         wordDisplay.setStyle("-fx-fill: black; -fx-font-size: 48px; -fx-font-family: 'Verdana';");
 
         // Step 4: Initialize game components
-        createQwertyKeyboard();     // Generate buttons
+        resetKeyboard();            // All keys enabled (built on the first round)
         startTimer();               // Start the clock
         updateStats();              // Show initial lives
-        drawingPane.getChildren().clear(); // Clear previous drawings
+        if (figure == null) figure = new HangmanFigure(drawingPane);
+        figure.reset();             // Hide the previous round's drawing
     }
 
     /**
      * HINT SYSTEM
-     * Logic: Reveals one random missing letter.
+     * Logic: Reveals one missing letter (see HangmanGame.hint()). With smart hints (Configuration screen)
+     * the Solver picks the letter that narrows the possible words down the most; otherwise it is random.
      * Penalty: Costs 2 lives (Attempts).
      * Usage: Can only be used if player has > 2 lives.
      */
     @FXML
     private void handleHint() {
-        // Guard Clause: Prevent usage if not enough lives
-        if (remainingAttempts <= 2) return;
-
-        // 1. Identify all indices that are still hidden ('_')
-        List<Integer> missingIndices = new ArrayList<>();
-        for (int i = 0; i < secretWord.length(); i++) {
-            if (currentGuess.charAt(i) == '_') {
-                missingIndices.add(i);
-            }
+        // The engine refuses the hint if there are not enough lives; onHint renders the result.
+        // Each move is recorded before it is applied: a hint that reveals the last letter ends the
+        // round (gameOver -> recorder.finishRound), and a move recorded after that would be lost.
+        char best = 0;
+        if (session.getConfig().smartHints()) {
+            if (hintSolver == null) hintSolver = new Solver(wordService.getSolverIndex());
+            best = hintSolver.bestHint(game);
         }
-
-        if (!missingIndices.isEmpty()) {
-            // 2. Pick a random index from the missing ones
-            int randomIndex = missingIndices.get(new Random().nextInt(missingIndices.size()));
-            char letterToReveal = secretWord.charAt(randomIndex);
-
-            // 3. Process this letter as a correct guess
-            handleGuessLogic(letterToReveal);
-
-            // 4. Apply the penalty manually
-            // (handleGuessLogic doesn't deduct lives for correct guesses, so we do it here)
-            remainingAttempts -= 2;
-
-            // 5. Update UI and disable the key on the virtual keyboard
-            updateStats();
-            drawHangman();
-            disableKey(letterToReveal);
+        if (best != 0) {
+            recorder.hint(best);
+            game.hint(best);
+        } else {
+            // Word not in the dictionary (or smart hints off): random hint
+            recorder.randomHint();
+            game.hint();
         }
+        updateStats();
+    }
+
+    /**
+     * Enables every key for a new round; the on-screen keyboard is created on the first call.
+     */
+    private void resetKeyboard() {
+        if (keys[0] == null) createKeyboard();
+        for (Button key : keys) key.setDisable(false);
     }
 
     /**
-     * Dynamically creates the on-screen QWERTY keyboard.
-     * This avoids hardcoding 26 buttons in FXML.
+     * Dynamically creates the on-screen keyboard from the rows of the alphabet (QWERTY in English).
+     * This avoids hardcoding a button per letter in FXML.
      */
-    private void createQwertyKeyboard() {
+    private void createKeyboard() {
         keyboardBox.getChildren().clear();
-        String[] rows = { "QWERTYUIOP", "ASDFGHJKL", "ZXCVBNM" };
 
-        for (String rowChars : rows) {
+        for (String rowChars : alphabet.keyboardRows()) {
             // Create a horizontal row
             HBox rowBox = new HBox(5);
             rowBox.setAlignment(javafx.geometry.Pos.CENTER);
@@ -148,10 +214,12 @@ public class GameController {
                 btn.getStyleClass().add("key-button"); // Apply CSS class
                 btn.setMinWidth(40);
                 btn.setMinHeight(40);
+                btn.setFocusTraversable(false); // Typing must not depend on which key has the focus
 
                 // Attach event listener: When clicked, handle the guess
-                btn.setOnAction(e -> handleGuess(c, btn));
+                btn.setOnAction(e -> handleGuess(c));
 
+                keys[alphabet.indexOf(c)] = btn;
                 rowBox.getChildren().add(btn);
             }
             // Add row to the main VBox
@@ -159,186 +227,158 @@ public class GameController {
         }
     }
 
+    /**
+     * Physical keyboard: a letter key guesses that letter (other keys are left to the scene).
+     * Shortcuts (Ctrl+C, Cmd+W, Alt+F, ...) are never guesses; only Shift may be held.
+     */
+    private void handleKeyPressed(KeyEvent event) {
+        if (event.isShortcutDown() || event.isControlDown() || event.isAltDown() || event.isMetaDown()) return;
+        String text = event.getText(); // The character of the user's keyboard layout, not the key position
+        if (text == null || text.length() != 1) return;
+        int index = alphabet.indexOfInput(text.charAt(0)); // Any case; accented letters fold like the words do
+        if (index < 0) return;
+
+        event.consume();
+        handleGuess(alphabet.letterAt(index));
+    }
+
     /**
      * Helper to visually disable a specific key on the virtual keyboard.
      */
     private void disableKey(char c) {
-        // Iterate through rows (HBoxes)
-        for (javafx.scene.Node row : keyboardBox.getChildren()) {
-            HBox hBox = (HBox) row;
-            // Iterate through buttons in row
-            for (javafx.scene.Node node : hBox.getChildren()) {
-                Button btn = (Button) node;
-                // If text matches, disable it
-                if (btn.getText().equals(String.valueOf(c))) {
-                    btn.setDisable(true);
-                }
-            }
-        }
+        int index = alphabet.indexOf(c);
+        if (index >= 0) keys[index].setDisable(true);
     }
 
     /**
-     * Wrapper for guess logic triggered by Button click.
+     * Single entry point for guesses from a key click or a key press.
+     * A disabled key means the letter was already guessed (or hinted) or the round is over, so a
+     * repeated or auto-repeated press is dropped here and every letter is processed exactly once.
      */
-    private void handleGuess(char letter, Button btn) {
-        btn.setDisable(true); // Disable button immediately to prevent double clicks
+    private void handleGuess(char letter) {
+        Button key = keys[alphabet.indexOf(letter)];
+        if (key.isDisabled()) return;
+        key.setDisable(true); // Disable button immediately to prevent double clicks
         handleGuessLogic(letter);
     }
 
     /**
-     * Core Game Logic: Checks if the guessed letter is in the secret word.
+     * Core Game Logic: Delegates to the engine, which calls back onHit/onMiss/onWin/onLoss.
      */
     private void handleGuessLogic(char letter) {
-        boolean correct = false;
-
-        // Loop through secret word to find matches
-        for (int i = 0; i < secretWord.length(); i++) {
-            if (secretWord.charAt(i) == letter) {
-                currentGuess.setCharAt(i, letter); // Reveal character
-                correct = true;
-            }
-        }
+        HangmanEvents.Guess event = new HangmanEvents.Guess();
+        event.begin();
+        long start = System.nanoTime();
 
-        if (correct) {
-            // Update display
-            wordDisplay.setText(formatCurrentGuess());
-            // Check Win Condition
-            if (currentGuess.toString().equals(secretWord)) {
-                gameOver(true);
-            }
-        } else {
-            // Incorrect guess
-            remainingAttempts--;
-            drawHangman(); // Draw next part of the body
-            // Check Lose Condition
-            if (remainingAttempts <= 0) {
-                gameOver(false);
-            }
-        }
+        recorder.guess(letter);
+        GuessResult result = game.guess(letter);
         // Update stats labels (guesses left)
         updateStats();
+
+        GUESS_TIME.recordSince(start);
+        event.letter = letter;
+        event.result = result.name();
+        event.commit();
     }
 
-    /**
-     * Draws the Hangman incrementally based on the percentage of lives lost.
-     * This logic works for ANY number of max attempts (3, 6, or 9).
-     */
-    private void drawHangman() {
-        int mistakes = maxAttempts - remainingAttempts;
-        // Calculate percentage of game lost (0.0 to 1.0)
-        double percentageLost = (double) mistakes / maxAttempts;
-        // Map percentage to 10 drawing stages
-        int stagesToShow = (int) Math.ceil(percentageLost * 10);
-
-        // Center coordinates for drawing
-        double w = drawingPane.getWidth();
-        double h = drawingPane.getHeight();
-        double cx = w / 2;
-        double strokeWidth = 4.0;
-
-        // Progressive Drawing: Add lines based on current stage
-        if (stagesToShow >= 1) addLine(cx-60, h-20, cx+60, h-20, strokeWidth); // Base
-        if (stagesToShow >= 2) addLine(cx-40, h-20, cx-40, 20, strokeWidth);   // Pole
-        if (stagesToShow >= 3) addLine(cx-40, 20, cx, 20, strokeWidth);        // Top bar
-        if (stagesToShow >= 4) addLine(cx, 20, cx, 50, strokeWidth);           // Rope
-
-        if (stagesToShow >= 5) { // Head (Circle)
-            Circle head = new Circle(cx, 75, 25);
-            head.setFill(null);
-            head.setStroke(javafx.scene.paint.Color.BLACK);
-            head.setStrokeWidth(strokeWidth);
-            drawingPane.getChildren().add(head);
+    // --- ENGINE EVENTS (GameListener) ---
+
+    @Override
+    public void onHit(char letter) {
+        // Update display (only if the revealed positions actually changed)
+        if (maskedWord.refresh(game)) {
+            wordDisplay.setText(maskedWord.text());
         }
+    }
 
-        if (stagesToShow >= 6) addLine(cx, 100, cx, 170, strokeWidth);         // Body
-        if (stagesToShow >= 7) addLine(cx, 120, cx-35, 150, strokeWidth);      // Left Arm
-        if (stagesToShow >= 8) addLine(cx, 120, cx+35, 150, strokeWidth);      // Right Arm
-        if (stagesToShow >= 9) addLine(cx, 170, cx-35, 220, strokeWidth);      // Left Leg
-        if (stagesToShow >= 10) addLine(cx, 170, cx+35, 220, strokeWidth);     // Right Leg
+    @Override
+    public void onMiss(char letter) {
+        drawHangman(); // Draw next part of the body
     }
 
-    // Helper to add a JavaFX Line to the pane
-    private void addLine(double sx, double sy, double ex, double ey, double width) {
-        Line line = new Line(sx, sy, ex, ey);
-        line.setStrokeWidth(width);
-        line.setStrokeLineCap(StrokeLineCap.ROUND); // Rounds the line ends for smoother look
-        drawingPane.getChildren().add(line);
+    @Override
+    public void onHint(char letter) {
+        // Update drawing for the penalty and disable the key on the virtual keyboard
+        drawHangman();
+        disableKey(letter);
     }
 
-    // Helper to add spaces between letters for better readability (e.g., "J A V A")
-    private String formatCurrentGuess() {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < currentGuess.length(); i++) {
-            sb.append(currentGuess.charAt(i)).append(" ");
-        }
-        return sb.toString().trim();
+    @Override
+    public void onWin() {
+        gameOver(true);
+    }
+
+    @Override
+    public void onLoss() {
+        gameOver(false);
     }
 
     /**
-     * Starts the game timer using AnimationTimer.
-     * AnimationTimer runs once per frame (approx. 60fps), allowing precise time tracking.
+     * Shows the Hangman incrementally based on the percentage of lives lost.
+     * This logic works for ANY number of max attempts (3, 6, or 9).
+     */
+    private void drawHangman() {
+        int mistakes = game.getMistakes();
+        // Calculate percentage of game lost (0.0 to 1.0)
+        double percentageLost = (double) mistakes / game.getMaxAttempts();
+        // Map percentage to the figure's drawing stages
+        figure.show((int) Math.ceil(percentageLost * HangmanFigure.STAGES));
+    }
+
+    /**
+     * Starts the game timer at 00:00 (see RoundTimer: one label update per second, not per frame).
      */
     private void startTimer() {
-        startTime = System.currentTimeMillis();
-        timer = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                long elapsed = (System.currentTimeMillis() - startTime) / 1000; // convert to seconds
-                // Format as MM:SS
-                timerLabel.setText(String.format("Time passed: %02d:%02d", elapsed / 60, elapsed % 60));
-            }
-        };
+        if (timer == null) timer = new RoundTimer(timerLabel);
         timer.start();
     }
 
     // Updates the "Guesses left" label and disables hint button if lives are low
     private void updateStats() {
-        guessesLabel.setText("Guesses left: " + remainingAttempts);
+        guessesLabel.setText("Guesses left: " + game.getRemainingAttempts());
         if (hintButton != null) {
-            // Disable hint if user has 2 or fewer lives
-            hintButton.setDisable(remainingAttempts <= 2);
+            // Disable hint if user has 2 or fewer lives (or the round is over)
+            hintButton.setDisable(!game.canHint());
         }
     }
 
     /**
      * Handles End-Of-Game logic (Win or Loss).
-     * 1. Stops timer.
-     * 2. Saves stats to DataHolder.
-     * 3. Calculates score (if win).
-     * 4. Delays scene switch to allow user to see the result briefly.
+     * 1. Stops timer and keyboard input.
+     * 2. Adds the round to the session (which scores it).
+     * 3. Finishes the round's replay log, checkpoints the session's highscore, saves the word decks and,
+     *    for a daily challenge, records the day's result.
+     * 4. Shows the word in green (win) or red (loss).
+     * 5. Delays scene switch to allow user to see the result briefly.
      */
     private void gameOver(boolean win) {
         timer.stop();
         disableAllKeys(); // Stop input
 
-        // Save session stats to DataHolder so ScoreController can read them
-        DataHolder.lastTime = timerLabel.getText().replace("Time passed: ", "");
-        DataHolder.lastRemainingAttempts = remainingAttempts;
+        // Add the round to the session so ScoreController can read it
+        // (score: lives left x 1000 x difficulty multiplier, 0 if lost)
+        // Duration from the monotonic round clock, without time the window spent in the background
+        int score = session.recordRound(win, game.getRemainingAttempts(), timer.elapsedMillis());
+        recorder.finishRound(score);
+        ScoreController.checkpointSession(session, highscoreService); // A crash from now on keeps this round
+        // The played word stays out of the deck after a restart, even if the app is killed later
+        if (decks != null) Thread.ofVirtual().name("word-schedule").start(decks::save);
+        if (session.isLastRoundDaily()) {
+            // Written on the highscore writer thread; the score screen reads the daily history after it
+            DailyChallenge.recordResult(session.getLastRoundDay(), session.getConfig().difficulty(), score, win,
+                    session.getConfig().attempts(), session.getLastRoundMillis());
+        }
 
         if (!win) {
             // LOSS: Reveal the full word in RED
-            StringBuilder revealed = new StringBuilder();
-            for (char c : secretWord.toCharArray()) revealed.append(c).append(" ");
-            wordDisplay.setText(revealed.toString().trim());
+            maskedWord.revealAll(game);
+            wordDisplay.setText(maskedWord.text());
             wordDisplay.setStyle("-fx-fill: red; -fx-font-size: 48px; -fx-font-family: 'Verdana';");
         } else {
-            // WIN: Show word in GREEN and calculate score
+            // WIN: Show word in GREEN
             wordDisplay.setStyle("-fx-fill: green; -fx-font-size: 48px; -fx-font-family: 'Verdana';");
-
-            // Score Calculation Logic
-            int basePoints = remainingAttempts * 1000;
-            int multiplier = 1;
-            // Higher difficulty = Higher score
-            if (DataHolder.difficulty.equals("Medium")) multiplier = 2;
-            if (DataHolder.difficulty.equals("Hard")) multiplier = 3;
-
-            DataHolder.lastRoundScore = basePoints * multiplier;
-            DataHolder.totalScore += DataHolder.lastRoundScore; // Add to session total
-            DataHolder.wordsGuessed++;
         }
 
-        DataHolder.isWin = win;
-
         // Create a 2-second delay before switching screens
         PauseTransition pause = new PauseTransition(Duration.seconds(2));
         pause.setOnFinished(e -> {
@@ -349,14 +389,14 @@ public class GameController {
         pause.play();
     }
 
+    // The decks continue where the last run stopped (read once, at the first round)
+    private WordScheduler decks() {
+        if (decks == null) decks = wordService.newScheduler(WordScheduler.DEFAULT_FILE);
+        return decks;
+    }
+
     // Helper to disable all keyboard buttons at end of game
     private void disableAllKeys() {
-        for (javafx.scene.Node rowNode : keyboardBox.getChildren()) {
-            if (rowNode instanceof HBox) {
-                for (javafx.scene.Node btnNode : ((HBox) rowNode).getChildren()) {
-                    btnNode.setDisable(true);
-                }
-            }
-        }
+        for (Button key : keys) key.setDisable(true);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package github.ysbar.hangman.controller;
+
+import javafx.beans.binding.DoubleBinding;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.StrokeLineCap;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * The gallows and the hangman as a fixed set of shapes, built once per pane. A wrong guess only
+ * makes the next parts visible (no nodes are added), a new round hides them again, and the shapes'
+ * coordinates are bound to the pane size, so the figure follows window resizes by itself.
+ */
+
+class HangmanFigure {
+
+    static final int STAGES = 10;              // Base, pole, top bar, rope, head, body, 2 arms, 2 legs
+    private static final double STROKE_WIDTH = 4.0;
+
+    private final Node[] parts = new Node[STAGES];
+    private int shown;                         // Parts 0..shown-1 are visible
+
+    HangmanFigure(Pane pane) {
+        // Horizontal center and bottom of the pane; everything else is an offset from these or the top
+        DoubleBinding cx = pane.widthProperty().divide(2);
+        DoubleBinding bottom = pane.heightProperty().subtract(20);
+
+        Line base = line(cx.subtract(60), 0, cx.add(60), 0);                   // Base
+        base.startYProperty().bind(bottom);
+        base.endYProperty().bind(bottom);
+        parts[0] = base;
+        Line pole = line(cx.subtract(40), 0, cx.subtract(40), 20);             // Pole
+        pole.startYProperty().bind(bottom);
+        parts[1] = pole;
+        parts[2] = line(cx.subtract(40), 20, cx, 20);                          // Top bar
+        parts[3] = line(cx, 20, cx, 50);                                       // Rope
+
+        Circle head = new Circle(25);                                          // Head
+        head.centerXProperty().bind(cx);
+        head.setCenterY(75);
+        head.setFill(null);
+        head.setStroke(Color.BLACK);
+        head.setStrokeWidth(STROKE_WIDTH);
+        parts[4] = head;
+
+        parts[5] = line(cx, 100, cx, 170);                         // Body
+        parts[6] = line(cx, 120, cx.subtract(35), 150);            // Left Arm
+        parts[7] = line(cx, 120, cx.add(35), 150);                 // Right Arm
+        parts[8] = line(cx, 170, cx.subtract(35), 220);            // Left Leg
+        parts[9] = line(cx, 170, cx.add(35), 220);                 // Right Leg
+
+        for (Node part : parts) {
+            part.setVisible(false);
+            part.setManaged(false); // Positioned by its bindings, not by the pane's layout
+        }
+        pane.getChildren().setAll(parts);
+    }
+
+    /**
+     * Shows the first `stages` parts (0 = empty gallows area, STAGES = complete figure).
+     * Only the parts whose visibility changes are touched.
+     */
+    void show(int stages) {
+        int target = Math.max(0, Math.min(stages, STAGES));
+        for (int i = shown; i < target; i++) parts[i].setVisible(true);
+        for (int i = target; i < shown; i++) parts[i].setVisible(false);
+        shown = target;
+    }
+
+    /**
+     * Hides all parts for a new round.
+     */
+    void reset() {
+        show(0);
+    }
+
+    // Line whose x coordinates follow the pane width
+    private static Line line(DoubleBinding startX, double startY, DoubleBinding endX, double endY) {
+        Line line = new Line();
+        line.startXProperty().bind(startX);
+        line.endXProperty().bind(endX);
+        line.setStartY(startY);
+        line.setEndY(endY);
+        line.setStrokeWidth(STROKE_WIDTH);
+        line.setStrokeLineCap(StrokeLineCap.ROUND); // Rounds the line ends for smoother look
+        return line;
+    }
+}
@@ -1,5 +1,6 @@
 package github.ysbar.hangman.controller;
 
+import github.ysbar.hangman.service.ReusableController;
 import github.ysbar.hangman.service.SceneSwitcher;
 import javafx.fxml.FXML;
 import javafx.event.ActionEvent;
@@ -11,9 +12,18 @@ import javafx.application.Platform;
  * Handles interactions on the Main Menu screen.
  */
 
-public class MenuController {
+public class MenuController implements ReusableController {
     private SceneSwitcher sceneSwitcher = new SceneSwitcher();
 
+    /**
+     * While the player is in the menu, parse the screens of a round in the background,
+     * so starting the game and every round trip after it is only a root swap.
+     */
+    @Override
+    public void activate() {
+        sceneSwitcher.preload("Configuration", "Gameplay", "ScoreScreen");
+    }
+
     @FXML
     private void handleNewGame(ActionEvent event) {
         // Navigate to Configuration Screen
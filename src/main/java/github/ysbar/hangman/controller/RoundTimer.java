@@ -0,0 +1,111 @@
+package github.ysbar.hangman.controller;
+
+import github.ysbar.hangman.engine.GameClock;
+import github.ysbar.hangman.metrics.LatencyHistogram;
+import github.ysbar.hangman.metrics.Metrics;
+import javafx.animation.PauseTransition;
+import javafx.scene.control.Label;
+import javafx.util.Duration;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * Shows the round's elapsed time ("Time passed: MM:SS") in a label. Instead of running every frame,
+ * one PauseTransition is scheduled for the next full second of the GameClock, so the label is set
+ * once per second (with a cached string) and nothing runs in between.
+ *
+ * METRICS: "ui.timer.lateness" (how long after the second boundary a tick ran).
+ */
+
+class RoundTimer {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long SLACK_NANOS = 1_000_000L;        // Fire just after the boundary, never just before
+    private static final int CACHED_SECONDS = 60 * 60;         // Labels for the first hour are built once
+    private static final String[] LABELS = new String[CACHED_SECONDS];
+    private static final LatencyHistogram LATENESS = Metrics.histogram("ui.timer.lateness");
+
+    private final GameClock clock = new GameClock();
+    private final PauseTransition tick = new PauseTransition();
+    private final Label label;
+    private long shownSecond = -1;
+
+    RoundTimer(Label label) {
+        this.label = label;
+        tick.setOnFinished(e -> onTick());
+    }
+
+    /**
+     * Starts a new round at 00:00.
+     */
+    void start() {
+        clock.start();
+        shownSecond = -1;
+        show();
+        scheduleNextTick();
+    }
+
+    /**
+     * Ends the round; the time shown and elapsedMillis() stay fixed.
+     */
+    void stop() {
+        tick.stop();
+        clock.stop();
+    }
+
+    /**
+     * Stops counting while the window is in the background (only during a round).
+     */
+    void pause() {
+        if (!clock.isRunning()) return;
+        clock.pause();
+        tick.stop();
+    }
+
+    void resume() {
+        if (clock.isRunning()) return;
+        clock.resume();
+        if (clock.isRunning()) scheduleNextTick(); // false after stop(): the round is over
+    }
+
+    /**
+     * @return Time played in this round, without paused time.
+     */
+    long elapsedMillis() {
+        return clock.elapsedMillis();
+    }
+
+    private void onTick() {
+        LATENESS.record(clock.elapsedNanos() % NANOS_PER_SECOND);
+        show();
+        scheduleNextTick();
+    }
+
+    private void show() {
+        long second = clock.elapsedNanos() / NANOS_PER_SECOND;
+        if (second == shownSecond) return; // Label already up to date
+        shownSecond = second;
+        label.setText(text(second));
+    }
+
+    private void scheduleNextTick() {
+        long untilNextSecond = NANOS_PER_SECOND - clock.elapsedNanos() % NANOS_PER_SECOND + SLACK_NANOS;
+        tick.setDuration(Duration.millis(untilNextSecond / 1e6));
+        tick.playFromStart();
+    }
+
+    // "Time passed: MM:SS", cached for the first hour
+    private static String text(long second) {
+        if (second >= CACHED_SECONDS) return format(second);
+        String cached = LABELS[(int) second];
+        if (cached == null) {
+            cached = format(second);
+            LABELS[(int) second] = cached; // Only touched on the JavaFX thread
+        }
+        return cached;
+    }
+
+    private static String format(long second) {
+        return String.format("Time passed: %02d:%02d", second / 60, second % 60);
+    }
+}
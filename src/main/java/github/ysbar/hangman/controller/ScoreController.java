@@ -1,24 +1,34 @@
 package github.ysbar.hangman.controller;
 
-import github.ysbar.hangman.model.DataHolder;
+import github.ysbar.hangman.model.GameSession;
+import github.ysbar.hangman.service.DailyChallenge;
 import github.ysbar.hangman.service.HighscoreService;
+import github.ysbar.hangman.service.ReusableController;
 import github.ysbar.hangman.service.SceneSwitcher;
+import github.ysbar.hangman.service.ScoreRecord;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.event.ActionEvent;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
 /**
  * @AUTHOR: Yusuf
  * RESPONSIBILITY:
  * Displays the result of the round (Win/Loss), current session statistics,
- * and handles Highscore persistence.
+ * and handles Highscore persistence. After a daily challenge the highscore card shows
+ * the player's daily results across days instead.
  */
 
-public class ScoreController {
+public class ScoreController implements ReusableController {
 
     // --- FXML INJECTIONS ---
     @FXML private Label resultLabel;          // "YOU WON" or "GAME OVER"
+    @FXML private Label highScoreTitle;       // "Highscore", or "Daily Challenge" after a daily round
     @FXML private Label currentScoreLabel;    // Total score of current session
     @FXML private Label highScoreLabel;       // Best score from file
     @FXML private Label wordsGuessedLabel;    // Words guessed this session
@@ -29,16 +39,21 @@ public class ScoreController {
     // --- SERVICES ---
     private HighscoreService highscoreService = new HighscoreService();
     private SceneSwitcher sceneSwitcher = new SceneSwitcher();
+    private final GameSession session; // Injected by SceneSwitcher's controller factory
+
+    public ScoreController(GameSession session) {
+        this.session = session;
+    }
 
     /**
-     * Called when the ScoreScreen is loaded.
-     * Populates all labels with data from DataHolder.
+     * Called every time the (cached) ScoreScreen is shown.
+     * Populates all labels with data from the session.
      */
-    @FXML
-    public void initialize() {
-        // Retrieve global session state
-        boolean win = DataHolder.isWin;
-        int totalScore = DataHolder.totalScore;
+    @Override
+    public void activate() {
+        // Retrieve the session state
+        boolean win = session.isLastRoundWon();
+        int totalScore = session.getTotalScore();
 
         // Dynamic Text Styling based on result
         if (win) {
@@ -51,21 +66,55 @@ public class ScoreController {
 
         // 1. Display Current Session Stats
         currentScoreLabel.setText("Score: " + totalScore);
-        wordsGuessedLabel.setText("Words guessed: " + DataHolder.wordsGuessed);
+        wordsGuessedLabel.setText("Words guessed: " + session.getWordsGuessed());
 
         // Display stats from the specific round that just ended
-        // (DataHolder stores these temporarily even if game is lost)
-        attemptsLabel.setText("Attempts left: " + DataHolder.lastRemainingAttempts);
-        timeLabel.setText("Time to finish: " + DataHolder.lastTime);
+        // (the session keeps these even if the round is lost)
+        long seconds = session.getLastRoundMillis() / 1000;
+        attemptsLabel.setText("Attempts left: " + session.getLastRemainingAttempts());
+        timeLabel.setText(String.format("Time to finish: %02d:%02d", seconds / 60, seconds % 60));
+
+        if (session.isLastRoundDaily()) {
+            showDailyResults(session.getLastRoundScore());
+            return;
+        }
 
         // 2. Highscore Logic
-        // Check if current session score beats the saved highscore
-        highscoreService.checkAndSaveHighscore(totalScore, DataHolder.wordsGuessed);
+        // The session is only appended to the ledger when it ends (Quit or closing the app; after a
+        // crash, from its checkpoint); until then it counts as the highscore if it beats the best saved one.
+        // The saved highscore arrives from the writer thread, so a slow disk never blocks this screen.
+        highScoreTitle.setText("Highscore");
+        highScoreLabel.setText("Score: ...");
+        highScoreWordsLabel.setText("Words guessed: ...");
+        int wordsGuessed = session.getWordsGuessed();
+        highscoreService.loadHighscoreAsync().thenAccept(saved -> {
+            int[] stats = (totalScore > saved[0]) ? new int[]{totalScore, wordsGuessed} : saved;
+            Platform.runLater(() -> {
+                highScoreLabel.setText("Score: " + stats[0]);
+                highScoreWordsLabel.setText("Words guessed: " + stats[1]);
+            });
+        });
+    }
 
-        // Load the (potentially new) highscore from file and display it
-        int[] stats = highscoreService.loadHighscore();
-        highScoreLabel.setText("Score: " + stats[0]);
-        highScoreWordsLabel.setText("Words guessed: " + stats[1]);
+    /**
+     * Shows this installation's daily results of the difficulty across days: the best one and how many
+     * days were played. GameController queued today's result before this screen was shown; the writer
+     * thread handles it before this read, so the history already includes it.
+     */
+    private void showDailyResults(int score) {
+        long day = session.getLastRoundDay();
+        highScoreTitle.setText("Daily Challenge " + LocalDate.ofEpochDay(day));
+        highScoreLabel.setText("Best daily: ...");
+        highScoreWordsLabel.setText("Days played: ...");
+        DailyChallenge.history(session.getConfig().difficulty()).thenAccept(history -> {
+            ScoreRecord best = history.best().isEmpty() ? null : history.best().get(0);
+            Platform.runLater(() -> {
+                highScoreLabel.setText((best == null || score >= best.score())
+                        ? "Best daily: " + score + " (today)"
+                        : "Best daily: " + best.score() + " (" + LocalDate.ofInstant(Instant.ofEpochMilli(best.finishedAt()), ZoneOffset.UTC) + ")");
+                highScoreWordsLabel.setText("Days played: " + history.daysPlayed());
+            });
+        });
     }
 
     /**
@@ -79,11 +128,33 @@ public class ScoreController {
 
     /**
      * Triggered by "Quit" button.
-     * Resets the entire session data (DataHolder.resetScore) and goes to Main Menu.
+     * Records the finished session in the highscore ledger, resets the entire
+     * session data (GameSession.resetScore) and goes to Main Menu.
      */
     @FXML
     private void handleQuit(ActionEvent event) {
-        DataHolder.resetScore();
+        finishSession(session, highscoreService);
         sceneSwitcher.switchTo("MainMenu", event);
     }
+
+    /**
+     * Queues the running total of the session as its checkpoint (see HighscoreService), so a crash
+     * before Quit loses no finished round. Called by GameController after every scored round.
+     */
+    public static void checkpointSession(GameSession session, HighscoreService highscoreService) {
+        highscoreService.checkpointSession(session.getTotalScore(), session.getWordsGuessed(),
+                session.getConfig().difficulty(), session.getConfig().attempts(), session.getSessionMillis());
+    }
+
+    /**
+     * Queues the current session (if any round was played) for the ledger and resets it.
+     * Also called by Launcher.stop(), so closing the window does not lose the session.
+     */
+    public static void finishSession(GameSession session, HighscoreService highscoreService) {
+        if (session.getRoundsPlayed() > 0) {
+            highscoreService.recordSession(session.getTotalScore(), session.getWordsGuessed(),
+                    session.getConfig().difficulty(), session.getConfig().attempts(), session.getSessionMillis());
+        }
+        session.resetScore();
+    }
 }
\ No newline at end of file
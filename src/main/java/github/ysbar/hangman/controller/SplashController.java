@@ -1,45 +1,64 @@
 package github.ysbar.hangman.controller;
 
+import github.ysbar.hangman.engine.Warmup;
+import github.ysbar.hangman.service.DailyChallenge;
+import github.ysbar.hangman.service.HighscoreService;
 import github.ysbar.hangman.service.SceneSwitcher;
+import github.ysbar.hangman.service.StartupPipeline;
+import github.ysbar.hangman.service.WordService;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.stage.Stage;
 
 /**
  * @AUTHOR: Yusuf
  * RESPONSIBILITY:
  * Handles the initial startup screen (Splash Screen).
+ * While it is shown, the StartupPipeline does the work the first round would otherwise wait for,
+ * all steps in parallel; the progress bar follows the finished steps and the menu opens as soon as
+ * the last one is done.
  */
 
 public class SplashController {
     @FXML private Label titleLabel;
+    @FXML private ProgressBar progressBar; // Share of finished startup steps
+    @FXML private Label statusLabel;       // Last finished step
+
+    private static final int WARMUP_ROUNDS = 20_000; // Enough for the JIT to compile the guess path
+
     private SceneSwitcher sceneSwitcher = new SceneSwitcher();
+    private WordService wordService = new WordService();
 
     @FXML
     public void initialize() {
-        // Create a new background Thread.
-        new Thread(() -> {
-            try {
-                // Simulate a loading process or branding display for 3 seconds
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
+        StartupPipeline pipeline = new StartupPipeline()
+                // Parse all word lists and build the word and solver indexes
+                .step("Word lists", wordService::preloadAll)
+                // Map the daily challenge words of the coming days (loads the lists itself if it runs first)
+                .step("Daily challenge", () -> new DailyChallenge(wordService).precompute(DailyChallenge.SCHEDULE_DAYS))
+                // Read the highscore ledger once (on the writer thread, like every ledger access); the score screen then only reads memory
+                .step("Highscores", () -> new HighscoreService().loadHighscoreAsync().join())
+                // Parse the remaining screens, so every transition is only a root swap
+                .step("Screens", () -> sceneSwitcher.preload("MainMenu", "Configuration", "Gameplay", "ScoreScreen").join())
+                // Let the JIT compile the game engine before the first real guess
+                .step("Game engine", () -> Warmup.run(WARMUP_ROUNDS));
 
-            Platform.runLater(() -> {
+        progressBar.progressProperty().bind(pipeline.progressProperty());
+        statusLabel.textProperty().bind(pipeline.statusProperty());
 
-                try {
-                    // 1. Get the current Stage from the label
-                    Stage stage = (Stage) titleLabel.getScene().getWindow();
+        pipeline.start().whenComplete((result, error) -> Platform.runLater(() -> {
+            try {
+                // 1. Get the current Stage from the label
+                Stage stage = (Stage) titleLabel.getScene().getWindow();
 
-                    // 2. Switch to the Main Menu
-                    sceneSwitcher.switchTo("MainMenu", stage);
-                } catch (Exception e) {
-                    System.err.println("ERROR: Failed to switch from Splash to Menu.");
-                    e.printStackTrace();
-                }
-            });
-        }).start(); // Start the background thread
+                // 2. Switch to the Main Menu
+                sceneSwitcher.switchTo("MainMenu", stage);
+            } catch (Exception e) {
+                System.err.println("ERROR: Failed to switch from Splash to Menu.");
+                e.printStackTrace();
+            }
+        }));
     }
-}
\ No newline at end of file
+}
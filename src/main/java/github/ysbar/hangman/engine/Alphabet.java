@@ -0,0 +1,251 @@
+package github.ysbar.hangman.engine;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * The letters of one language: which characters can be guessed, their index (0 to size - 1, at most
+ * MAX_LETTERS so a set of letters fits one long), the order a frequency player guesses them in and
+ * the rows of the on-screen keyboard. The game runs in one alphabet, chosen with -Dhangman.locale
+ * (en, de, es, fr, ru, el; default en).
+ *
+ * NORMALIZATION (once per word, when a dictionary is loaded):
+ * The word is trimmed, composed (NFC) and uppercased with the alphabet's locale. A letter of the
+ * alphabet stays as it is (German Ä, Spanish Ñ, Russian Й). Any other accented letter is folded to
+ * its base letter if that is in the alphabet (É -> E in English, Ё -> Е in Russian, Ά -> Α in Greek),
+ * and left-over combining marks are dropped. Words with a letter that cannot be folded into the
+ * alphabet are rejected. Non-letters (spaces, hyphens, apostrophes) are kept and shown from the start.
+ * A normalized word holds one char per letter, so the engine can map it with indexOf() alone.
+ */
+
+public final class Alphabet {
+
+    public static final int MAX_LETTERS = Long.SIZE; // One bit per letter in a long
+    private static final String LOCALE_PROPERTY = "hangman.locale";
+
+    public static final Alphabet ENGLISH = new Alphabet("en", Locale.ENGLISH,
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZ", "ETAOINSHRDLCUMWFGYPBVKJXQZ",
+            "QWERTYUIOP", "ASDFGHJKL", "ZXCVBNM");
+    public static final Alphabet GERMAN = new Alphabet("de", Locale.GERMAN,
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZÄÖÜ", "ENISRATDHULCGMOBWFKZPVÜÄÖJYXQ",
+            "QWERTZUIOPÜ", "ASDFGHJKLÖÄ", "YXCVBNM");
+    public static final Alphabet SPANISH = new Alphabet("es", Locale.forLanguageTag("es"),
+            "ABCDEFGHIJKLMNÑOPQRSTUVWXYZ", "EAOSRNIDLCTUMPBGVYQHFZJÑXKW",
+            "QWERTYUIOP", "ASDFGHJKLÑ", "ZXCVBNM");
+    public static final Alphabet FRENCH = new Alphabet("fr", Locale.FRENCH,
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZ", "EASINTRULODCPMVQFBGHJXYZWK",
+            "AZERTYUIOP", "QSDFGHJKLM", "WXCVBN");
+    public static final Alphabet RUSSIAN = new Alphabet("ru", Locale.forLanguageTag("ru"),
+            "АБВГДЕЖЗИЙКЛМНОПРСТУФХЦЧШЩЪЫЬЭЮЯ", "ОЕАИНТСРВЛКМДПУЯЫЬГЗБЧЙХЖШЮЦЩЭФЪ",
+            "ЙЦУКЕНГШЩЗХЪ", "ФЫВАПРОЛДЖЭ", "ЯЧСМИТЬБЮ");
+    public static final Alphabet GREEK = new Alphabet("el", Locale.forLanguageTag("el"),
+            "ΑΒΓΔΕΖΗΘΙΚΛΜΝΞΟΠΡΣΤΥΦΧΨΩ", "ΑΟΕΙΤΣΝΗΥΡΠΚΜΛΩΔΓΧΘΦΒΞΖΨ",
+            "ΕΡΤΥΘΙΟΠ", "ΑΣΔΦΓΗΞΚΛ", "ΖΧΨΩΒΝΜ");
+
+    private static final List<Alphabet> ALL = List.of(ENGLISH, GERMAN, SPANISH, FRENCH, RUSSIAN, GREEK);
+    private static final Alphabet CURRENT = fromProperty();
+
+    private final String tag;
+    private final Locale locale;
+    private final String letters;        // In index order
+    private final String frequencyOrder; // Most common letter first
+    private final List<String> keyboardRows;
+    private final byte[] indexOf;        // [char] -> letter index, or -1; sized to the highest letter
+
+    private Alphabet(String tag, Locale locale, String letters, String frequencyOrder, String... keyboardRows) {
+        if (letters.isEmpty() || letters.length() > MAX_LETTERS) {
+            throw new IllegalArgumentException("An alphabet needs 1-" + MAX_LETTERS + " letters: " + tag);
+        }
+        this.tag = tag;
+        this.locale = locale;
+        this.letters = letters;
+        this.frequencyOrder = frequencyOrder;
+        this.keyboardRows = List.of(keyboardRows);
+
+        char highest = 0;
+        for (int i = 0; i < letters.length(); i++) highest = (char) Math.max(highest, letters.charAt(i));
+        indexOf = new byte[highest + 1];
+        Arrays.fill(indexOf, (byte) -1);
+        for (int i = 0; i < letters.length(); i++) {
+            if (indexOf[letters.charAt(i)] >= 0) throw new IllegalArgumentException("Duplicate letter in alphabet " + tag);
+            indexOf[letters.charAt(i)] = (byte) i;
+        }
+
+        // ERROR HANDLING: the frequency order and the keyboard must each hold every letter exactly once
+        if (!sameLetters(frequencyOrder) || !sameLetters(String.join("", keyboardRows))) {
+            throw new IllegalArgumentException("Frequency order or keyboard of alphabet " + tag + " does not match its letters");
+        }
+    }
+
+    /**
+     * @return The alphabet of the language tag (e.g. "de"), or null if there is none.
+     */
+    public static Alphabet forTag(String tag) {
+        for (Alphabet alphabet : ALL) {
+            if (alphabet.tag.equalsIgnoreCase(tag)) return alphabet;
+        }
+        return null;
+    }
+
+    /**
+     * @return The alphabet the application plays in (-Dhangman.locale, default English).
+     */
+    public static Alphabet current() {
+        return CURRENT;
+    }
+
+    public static List<Alphabet> available() {
+        return ALL;
+    }
+
+    private static Alphabet fromProperty() {
+        String tag = System.getProperty(LOCALE_PROPERTY, ENGLISH.tag);
+        Alphabet alphabet = forTag(tag);
+        if (alphabet == null) {
+            // ERROR HANDLING: unknown language, keep playing in English
+            System.err.println("ERROR: No alphabet for locale '" + tag + "', using English.");
+            return ENGLISH;
+        }
+        return alphabet;
+    }
+
+    // --- LOOKUP (allocation-free, used per guess) ---
+
+    /**
+     * @return 0 to size() - 1 for a letter of the alphabet, or -1 for any other char.
+     */
+    public int indexOf(char c) {
+        return (c < indexOf.length) ? indexOf[c] : -1;
+    }
+
+    public char letterAt(int index) {
+        return letters.charAt(index);
+    }
+
+    public int size() {
+        return letters.length();
+    }
+
+    /**
+     * @return A mask with one bit set for every letter index.
+     */
+    public long allLetters() {
+        return (size() == MAX_LETTERS) ? -1L : (1L << size()) - 1;
+    }
+
+    /**
+     * Maps a typed character (any case, possibly accented) to a letter index.
+     * Only an accented letter outside the alphabet takes the (allocating) folding path.
+     * @return The letter index, or -1 if the character is not a letter of the alphabet.
+     */
+    public int indexOfInput(char typed) {
+        int index = indexOf(Character.toUpperCase(typed));
+        if (index >= 0 || !Character.isLetter(typed)) return index;
+        String folded = normalize(String.valueOf(typed));
+        return (folded != null && folded.length() == 1) ? indexOf(folded.charAt(0)) : -1;
+    }
+
+    // --- NORMALIZATION (once per word, at load time) ---
+
+    /**
+     * Brings a raw dictionary line into the form the engine plays (see NORMALIZATION).
+     * @return The word, or null if it is empty, longer than HangmanGame.MAX_LENGTH or not playable in this alphabet.
+     */
+    public String normalize(String raw) {
+        String word = Normalizer.normalize(raw.trim(), Normalizer.Form.NFC).toUpperCase(locale);
+        if (word.isEmpty()) return null;
+
+        // Fast path: nothing to fold (every plain list, and most words of any list)
+        if (isPlayable(word)) return (word.length() <= HangmanGame.MAX_LENGTH) ? word : null;
+
+        StringBuilder folded = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); ) {
+            int cp = word.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (cp < indexOf.length && indexOf[cp] >= 0) {
+                folded.append((char) cp);
+            } else if (Character.getType(cp) == Character.NON_SPACING_MARK) {
+                continue; // A diacritic without a precomposed letter (e.g. a Russian stress mark)
+            } else if (Character.isLetter(cp)) {
+                char base = baseLetter(cp);
+                if (base == 0) return null; // Not a letter of this language
+                folded.append(base);
+            } else if (Character.isBmpCodePoint(cp)) {
+                folded.append((char) cp);
+            } else {
+                return null; // Emoji and other characters the board cannot show in one cell
+            }
+        }
+        return (folded.length() > 0 && folded.length() <= HangmanGame.MAX_LENGTH) ? folded.toString() : null;
+    }
+
+    // true if every char is a letter of the alphabet or a plain non-letter (nothing to fold or drop)
+    private boolean isPlayable(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (indexOf(c) < 0 && (Character.isLetter(c) || Character.isSurrogate(c)
+                    || Character.getType(c) == Character.NON_SPACING_MARK)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The alphabet letter an accented letter decomposes to (É -> E + accent), or 0
+    private char baseLetter(int cp) {
+        String decomposed = Normalizer.normalize(new String(Character.toChars(cp)), Normalizer.Form.NFD);
+        for (int i = 1; i < decomposed.length(); i++) {
+            if (Character.getType(decomposed.charAt(i)) != Character.NON_SPACING_MARK) return 0;
+        }
+        char base = decomposed.charAt(0);
+        return (indexOf(base) >= 0) ? base : 0;
+    }
+
+    private boolean sameLetters(String other) {
+        if (other.length() != letters.length()) return false;
+        long seen = 0;
+        for (int i = 0; i < other.length(); i++) {
+            int index = indexOf(other.charAt(i));
+            if (index < 0) return false;
+            seen |= 1L << index;
+        }
+        return seen == allLetters();
+    }
+
+    // --- ACCESSORS ---
+
+    /**
+     * @return The language tag, e.g. "en" (stored in replay logs).
+     */
+    public String tag() {
+        return tag;
+    }
+
+    public Locale locale() {
+        return locale;
+    }
+
+    /**
+     * @return Every letter, most common first (for frequency-based guessing).
+     */
+    public String frequencyOrder() {
+        return frequencyOrder;
+    }
+
+    /**
+     * @return The letters of the on-screen keyboard, one string per row.
+     */
+    public List<String> keyboardRows() {
+        return keyboardRows;
+    }
+
+    @Override
+    public String toString() {
+        return tag;
+    }
+}
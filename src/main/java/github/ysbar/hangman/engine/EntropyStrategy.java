@@ -0,0 +1,28 @@
+package github.ysbar.hangman.engine;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * Guesses the letter with the highest information gain over the dictionary words that still
+ * fit the board (see Solver). Used as the computer opponent and in batch simulations;
+ * each instance owns its Solver, so give every thread its own strategy.
+ */
+
+public class EntropyStrategy implements GuessStrategy {
+
+    private final Solver solver;
+
+    public EntropyStrategy(SolverIndex index) {
+        this.solver = new Solver(index);
+    }
+
+    @Override
+    public String name() {
+        return "entropy";
+    }
+
+    @Override
+    public char nextGuess(HangmanGame game) {
+        return solver.bestGuess(game);
+    }
+}
@@ -0,0 +1,32 @@
+package github.ysbar.hangman.engine;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY: Guesses letters in the fixed frequency order of the game's alphabet (E, T, A, O, ...
+ * in English), ignoring the board.
+ */
+
+public class FrequencyStrategy implements GuessStrategy {
+
+    @Override
+    public String name() {
+        return "frequency";
+    }
+
+    @Override
+    public char nextGuess(HangmanGame game) {
+        return firstUnguessed(game);
+    }
+
+    /**
+     * @return The most frequent letter that has not been guessed yet.
+     */
+    static char firstUnguessed(HangmanGame game) {
+        String order = game.getAlphabet().frequencyOrder();
+        for (int i = 0; i < order.length(); i++) {
+            char letter = order.charAt(i);
+            if (!game.isGuessed(letter)) return letter;
+        }
+        return order.charAt(0); // Unreachable while the round is running: a round ends before every letter is used
+    }
+}
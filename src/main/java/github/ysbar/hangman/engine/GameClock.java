@@ -0,0 +1,67 @@
+package github.ysbar.hangman.engine;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * Measures how long a round has been played, on the monotonic System.nanoTime() clock (wall-clock
+ * changes do not affect it). Time while paused (e.g. the window is in the background) is not counted.
+ * No UI dependency; used on one thread at a time.
+ */
+
+public class GameClock {
+
+    private long runningSince;   // nanoTime when the current running stretch began
+    private long accumulated;    // Nanoseconds of earlier stretches (before the last pause)
+    private boolean running;
+    private boolean paused;      // Stopped by pause() and not by stop(), so resume() may continue
+
+    /**
+     * Starts measuring a new round from 0.
+     */
+    public void start() {
+        accumulated = 0;
+        runningSince = System.nanoTime();
+        running = true;
+        paused = false;
+    }
+
+    /**
+     * Stops counting until resume(); does nothing unless running.
+     */
+    public void pause() {
+        if (!running) return;
+        accumulated += System.nanoTime() - runningSince;
+        running = false;
+        paused = true;
+    }
+
+    /**
+     * Continues after pause(); does nothing after stop() or while running.
+     */
+    public void resume() {
+        if (!paused) return;
+        runningSince = System.nanoTime();
+        running = true;
+        paused = false;
+    }
+
+    /**
+     * Ends the round; the elapsed time stays fixed until the next start().
+     */
+    public void stop() {
+        pause();
+        paused = false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long elapsedNanos() {
+        return running ? accumulated + System.nanoTime() - runningSince : accumulated;
+    }
+
+    public long elapsedMillis() {
+        return elapsedNanos() / 1_000_000;
+    }
+}
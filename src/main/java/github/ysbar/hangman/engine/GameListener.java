@@ -0,0 +1,36 @@
+package github.ysbar.hangman.engine;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * Callbacks fired by HangmanGame, e.g. so GameController can render the round.
+ * All methods are optional; they run on the thread that called guess()/hint().
+ */
+
+public interface GameListener {
+
+    /**
+     * A guess or hint revealed every position holding 'letter'.
+     */
+    default void onHit(char letter) {}
+
+    /**
+     * A guess was wrong; remainingAttempts has already been decreased.
+     */
+    default void onMiss(char letter) {}
+
+    /**
+     * A hint revealed 'letter' and cost HangmanGame.HINT_COST lives (unless it finished the word).
+     */
+    default void onHint(char letter) {}
+
+    /**
+     * The whole word is revealed.
+     */
+    default void onWin() {}
+
+    /**
+     * No lives are left.
+     */
+    default void onLoss() {}
+}
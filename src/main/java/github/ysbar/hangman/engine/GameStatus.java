@@ -0,0 +1,12 @@
+package github.ysbar.hangman.engine;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY: Lifecycle state of one HangmanGame round.
+ */
+
+public enum GameStatus {
+    PLAYING,
+    WON,
+    LOST
+}
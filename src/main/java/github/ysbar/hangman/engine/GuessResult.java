@@ -0,0 +1,13 @@
+package github.ysbar.hangman.engine;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY: Outcome of a single HangmanGame.guess(char) call.
+ */
+
+public enum GuessResult {
+    HIT,      // Letter is in the word and was revealed
+    MISS,     // Letter is not in the word, one life lost
+    REPEATED, // Letter was guessed before, nothing changed
+    IGNORED   // Round is already over, nothing changed
+}
@@ -0,0 +1,21 @@
+package github.ysbar.hangman.engine;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * A computer player that decides which letter to guess next, used by the batch Simulator.
+ * Instances may keep per-round state and are used by one thread at a time.
+ */
+
+public interface GuessStrategy {
+
+    /**
+     * Short name used on the command line and in reports.
+     */
+    String name();
+
+    /**
+     * @return The next letter of the game's alphabet to guess; it must not have been guessed in this round yet.
+     */
+    char nextGuess(HangmanGame game);
+}
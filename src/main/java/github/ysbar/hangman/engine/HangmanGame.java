@@ -0,0 +1,274 @@
+package github.ysbar.hangman.engine;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * The rules of one Hangman round, without any UI. Holds only primitive state
+ * and reports outcomes through GameListener, so it can be rendered by GameController
+ * or run headless for simulations.
+ *
+ * STATE AS BITMASKS:
+ * Letters are the indexes of an Alphabet (at most 64). When a word is started, a table of position
+ * masks is built (bit i of positions[L] is set if position i holds letter L). A guess is then one
+ * alphabet lookup, one table lookup and an OR into the revealed-positions mask, the win check is one
+ * comparison, and a hint picks a random set bit. Nothing is allocated per guess, and start() lets
+ * one instance be reused for many rounds.
+ *
+ * REPRODUCIBLE ROUNDS:
+ * Every round has a seed (drawn from the game's random, or given to start()); hint positions come
+ * from a SplitMix64 sequence over that seed. The word, the attempts, the seed and the moves in
+ * order therefore replay a round exactly (see the replay package).
+ */
+
+public class HangmanGame {
+
+    public static final int HINT_COST = 2;    // Lives a hint costs
+    public static final char HIDDEN = '_';    // Placeholder for an unrevealed letter
+    public static final int MAX_LENGTH = Long.SIZE; // One bit per position
+
+    private final long[] positions = new long[Alphabet.MAX_LETTERS]; // Positions of each letter in the secret word
+    private final RandomGenerator random;     // Draws the seed of each round
+    private Alphabet alphabet;
+
+    private long seed;                        // Seed of the current round
+    private long hintState;                   // SplitMix64 state for hint positions, starts at the seed
+
+    private String secretWord;
+    private long allPositions;                // One bit for every position of the word
+    private long revealed;                    // Positions shown to the player
+    private long guessedMask;                 // Bit L is set once letter L was guessed or hinted
+    private int maxAttempts;
+    private int remainingAttempts;
+    private GameStatus status;
+    private GameListener listener = new GameListener() {};
+
+    public HangmanGame(String secretWord, int maxAttempts) {
+        this(secretWord, maxAttempts, new SplittableRandom());
+    }
+
+    public HangmanGame(String secretWord, int maxAttempts, RandomGenerator random) {
+        this(secretWord, maxAttempts, random, Alphabet.current());
+    }
+
+    public HangmanGame(String secretWord, int maxAttempts, RandomGenerator random, Alphabet alphabet) {
+        this.random = random;
+        this.alphabet = alphabet;
+        start(secretWord, maxAttempts);
+    }
+
+    /**
+     * Switches the alphabet from the next start() on (e.g. to replay a round of another language).
+     */
+    public void setAlphabet(Alphabet alphabet) {
+        this.alphabet = alphabet;
+    }
+
+    /**
+     * Starts a new round on this instance, reusing its tables, with a seed from the game's random.
+     * The word must be normalized for the alphabet (see Alphabet.normalize); characters that are not
+     * letters of the alphabet (spaces, hyphens, apostrophes) cannot be guessed and are shown from the start.
+     */
+    public void start(String secretWord, int maxAttempts) {
+        start(secretWord, maxAttempts, random.nextLong());
+    }
+
+    /**
+     * Starts a new round with a given seed (to replay a recorded round).
+     */
+    public void start(String secretWord, int maxAttempts, long seed) {
+        int length = secretWord.length();
+        if (length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Word is longer than " + MAX_LENGTH + " characters: " + secretWord);
+        }
+
+        this.secretWord = secretWord;
+        this.seed = seed;
+        this.hintState = seed;
+        this.maxAttempts = maxAttempts;
+        this.remainingAttempts = maxAttempts;
+        this.status = GameStatus.PLAYING;
+        this.guessedMask = 0;
+        this.allPositions = (length == MAX_LENGTH) ? -1L : (1L << length) - 1;
+        this.revealed = 0;
+
+        // Build the letter-position table for this word
+        Arrays.fill(positions, 0);
+        for (int i = 0; i < length; i++) {
+            int letter = alphabet.indexOf(secretWord.charAt(i));
+            if (letter >= 0) positions[letter] |= 1L << i;
+            else revealed |= 1L << i;
+        }
+
+        // A word without any guessable letter is already complete
+        if (revealed == allPositions) status = GameStatus.WON;
+    }
+
+    public void setListener(GameListener listener) {
+        this.listener = (listener != null) ? listener : new GameListener() {};
+    }
+
+    /**
+     * Checks if the guessed letter is in the secret word and reveals it, or costs a life.
+     */
+    public GuessResult guess(char letter) {
+        int index = alphabet.indexOf(letter);
+        if (status != GameStatus.PLAYING || index < 0) return GuessResult.IGNORED;
+
+        long bit = 1L << index;
+        if ((guessedMask & bit) != 0) return GuessResult.REPEATED;
+        guessedMask |= bit;
+
+        long hits = positions[index];
+        if (hits != 0) {
+            revealed |= hits;
+            listener.onHit(letter);
+            checkWin();
+            return GuessResult.HIT;
+        }
+
+        // Incorrect guess
+        remainingAttempts--;
+        listener.onMiss(letter);
+        // Check Lose Condition
+        if (remainingAttempts <= 0) {
+            status = GameStatus.LOST;
+            listener.onLoss();
+        }
+        return GuessResult.MISS;
+    }
+
+    /**
+     * HINT SYSTEM
+     * Reveals one random missing letter for HINT_COST lives.
+     * Only possible while more than HINT_COST lives are left.
+     * If the hint completes the word, the round is won before the penalty is applied.
+     * @return The revealed letter, or 0 if no hint was given.
+     */
+    public char hint() {
+        long hidden = allPositions & ~revealed;
+        if (!canHint() || hidden == 0) return 0;
+
+        // Pick a random hidden position: drop k lowest set bits, take the next one
+        for (int k = nextHintIndex(Long.bitCount(hidden)); k > 0; k--) {
+            hidden &= hidden - 1;
+        }
+        return hint(secretWord.charAt(Long.numberOfTrailingZeros(hidden)));
+    }
+
+    /**
+     * Reveals a chosen missing letter (e.g. picked by a Solver) under the same rules as hint().
+     * @return The revealed letter, or 0 if no hint was given or the letter is not hidden in the word.
+     */
+    public char hint(char letter) {
+        int index = alphabet.indexOf(letter);
+        if (!canHint() || index < 0 || (positions[index] & ~revealed) == 0) return 0;
+
+        guessedMask |= 1L << index;
+        revealed |= positions[index];
+        listener.onHit(letter);
+        checkWin();
+
+        if (status == GameStatus.PLAYING) {
+            remainingAttempts -= HINT_COST;
+        }
+        listener.onHint(letter);
+        return letter;
+    }
+
+    public boolean canHint() {
+        return status == GameStatus.PLAYING && remainingAttempts > HINT_COST;
+    }
+
+    // SplitMix64 step: 0 <= result < bound, determined by the seed and the number of hints so far
+    private int nextHintIndex(int bound) {
+        long z = (hintState += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (int) ((z >>> 1) % bound);
+    }
+
+    private void checkWin() {
+        if (revealed == allPositions) {
+            status = GameStatus.WON;
+            listener.onWin();
+        }
+    }
+
+    // --- STATE ACCESSORS ---
+
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    public String getSecretWord() {
+        return secretWord;
+    }
+
+    /**
+     * @return Seed of the current round (see REPRODUCIBLE ROUNDS).
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The revealed letter at the position, or HIDDEN.
+     */
+    public char revealedAt(int position) {
+        return ((revealed >>> position) & 1) != 0 ? secretWord.charAt(position) : HIDDEN;
+    }
+
+    /**
+     * @return Bit i is set if position i is shown to the player.
+     */
+    public long getRevealedMask() {
+        return revealed;
+    }
+
+    /**
+     * @return Bit i is set if position i shows the letter with the alphabet index (0 while it is hidden).
+     */
+    public long revealedPositionsOf(int letterIndex) {
+        return positions[letterIndex] & revealed;
+    }
+
+    /**
+     * @return Bit L is set if the letter with alphabet index L was guessed or revealed by a hint.
+     */
+    public long getGuessedMask() {
+        return guessedMask;
+    }
+
+    public int length() {
+        return secretWord.length();
+    }
+
+    /**
+     * @return true if the letter was already guessed or revealed by a hint.
+     */
+    public boolean isGuessed(char letter) {
+        int index = alphabet.indexOf(letter);
+        return index >= 0 && (guessedMask & (1L << index)) != 0;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public int getRemainingAttempts() {
+        return remainingAttempts;
+    }
+
+    public int getMistakes() {
+        return maxAttempts - remainingAttempts;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+}
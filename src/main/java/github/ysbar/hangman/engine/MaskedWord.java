@@ -0,0 +1,55 @@
+package github.ysbar.hangman.engine;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * Renders the masked word with spaces between letters (e.g. "J _ V _") into a reused char buffer.
+ * The buffer is only rewritten when the revealed positions actually changed since the last render.
+ */
+
+public class MaskedWord {
+
+    private final char[] buffer = new char[HangmanGame.MAX_LENGTH * 2];
+    private int length;
+    private long renderedMask = -1;   // Revealed mask the buffer currently shows
+    private String renderedWord;      // Secret word the buffer currently shows
+
+    /**
+     * Brings the buffer up to date with the game.
+     * @return true if the text changed and should be pushed to the UI.
+     */
+    public boolean refresh(HangmanGame game) {
+        long mask = game.getRevealedMask();
+        if (mask == renderedMask && game.getSecretWord() == renderedWord) return false;
+
+        length = 0;
+        for (int i = 0; i < game.length(); i++) {
+            if (i > 0) buffer[length++] = ' ';
+            buffer[length++] = game.revealedAt(i);
+        }
+        renderedMask = mask;
+        renderedWord = game.getSecretWord();
+        return true;
+    }
+
+    /**
+     * Renders the whole secret word, e.g. to show it after a lost round.
+     */
+    public void revealAll(HangmanGame game) {
+        String word = game.getSecretWord();
+        length = 0;
+        for (int i = 0; i < word.length(); i++) {
+            if (i > 0) buffer[length++] = ' ';
+            buffer[length++] = word.charAt(i);
+        }
+        renderedMask = -1;
+        renderedWord = null;
+    }
+
+    /**
+     * @return The current text. This creates a String, so only call it after refresh() returned true.
+     */
+    public String text() {
+        return new String(buffer, 0, length);
+    }
+}
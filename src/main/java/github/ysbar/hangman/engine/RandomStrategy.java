@@ -0,0 +1,33 @@
+package github.ysbar.hangman.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY: Guesses a uniformly random letter that has not been guessed yet (a baseline player).
+ */
+
+public class RandomStrategy implements GuessStrategy {
+
+    private final RandomGenerator random;
+
+    public RandomStrategy(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public String name() {
+        return "random";
+    }
+
+    @Override
+    public char nextGuess(HangmanGame game) {
+        // Pick the k-th letter whose guessed bit is still clear
+        Alphabet alphabet = game.getAlphabet();
+        long open = ~game.getGuessedMask() & alphabet.allLetters();
+        for (int k = random.nextInt(Long.bitCount(open)); k > 0; k--) {
+            open &= open - 1;
+        }
+        return alphabet.letterAt(Long.numberOfTrailingZeros(open));
+    }
+}
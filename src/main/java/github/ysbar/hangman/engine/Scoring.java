@@ -0,0 +1,32 @@
+package github.ysbar.hangman.engine;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY: Score rules for a won round: 1000 points per remaining life, times a difficulty multiplier.
+ */
+
+public final class Scoring {
+
+    public static final int POINTS_PER_ATTEMPT = 1000;
+
+    private Scoring() {}
+
+    /**
+     * Higher difficulty = Higher score (Easy x1, Medium x2, Hard x3).
+     */
+    public static int multiplier(String difficulty) {
+        return switch (difficulty) {
+            case "Medium" -> 2;
+            case "Hard" -> 3;
+            default -> 1;
+        };
+    }
+
+    /**
+     * @return Points for a won round, 0 for a lost one.
+     */
+    public static int roundScore(boolean win, int remainingAttempts, String difficulty) {
+        if (!win) return 0;
+        return remainingAttempts * POINTS_PER_ATTEMPT * multiplier(difficulty);
+    }
+}
@@ -0,0 +1,289 @@
+package github.ysbar.hangman.engine;
+
+import java.util.Arrays;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * Keeps the set of dictionary words that are still consistent with a round (revealed letters,
+ * wrong letters) and picks the letter with the highest information gain, either as the next
+ * guess (EntropyStrategy, opponent mode) or as the letter a hint should reveal (GameController).
+ *
+ * INCREMENTAL FILTERING:
+ * The candidates are a bitset over the words of the secret's length in a shared SolverIndex.
+ * Only letters guessed since the last update are applied: a miss removes every word containing
+ * the letter (one AND-NOT with its presence bitmap), a hit keeps the words with the letter
+ * exactly at the revealed positions (one AND / AND-NOT per position). Nothing re-scans the dictionary.
+ *
+ * INFORMATION GAIN:
+ * With up to EXACT_ENTROPY_LIMIT candidates, each letter splits the candidates by the positions
+ * it would appear at, and the entropy of that split is computed exactly. Above the limit only the
+ * present/absent split is used, which is a popcount per letter. Ties go to the letter found in the
+ * most candidates. One Solver belongs to one game at a time; the index may be shared.
+ */
+
+public class Solver {
+
+    static final int EXACT_ENTROPY_LIMIT = 2048;
+    private static final double LN_2 = Math.log(2);
+
+    private final SolverIndex index;
+    private final Alphabet alphabet;
+    private final int letters;            // Letters in the index's alphabet
+
+    // --- ROUND STATE ---
+    private String trackedWord;           // Secret word of the round the candidates belong to
+    private long appliedMask;             // Guessed letters already applied to the candidates
+    private int length;
+    private long[] candidates = new long[0];
+    private long[] scratch = new long[0]; // Trial filtering for hints
+    private int count;
+
+    // --- ENTROPY SCRATCH (open-addressing table pattern -> count, cleared by stamp) ---
+    private long[] patterns = new long[0];     // [letter * count + candidate]
+    private long[] tableKeys = new long[0];
+    private int[] tableCounts = new int[0];
+    private int[] tableStamp = new int[0];
+    private int stamp;
+    private final int[] presentCounts;
+
+    public Solver(SolverIndex index) {
+        this.index = index;
+        this.alphabet = index.alphabet;
+        this.letters = index.letterCount;
+        this.presentCounts = new int[letters];
+    }
+
+    /**
+     * Brings the candidates up to date with the game; starts over if the game moved to a new round.
+     * @return Number of dictionary words still consistent with the board.
+     */
+    public int update(HangmanGame game) {
+        long guessed = game.getGuessedMask();
+        if (game.getSecretWord() != trackedWord || (guessed & appliedMask) != appliedMask) {
+            reset(game);
+        }
+
+        long fresh = guessed & ~appliedMask;
+        while (fresh != 0 && count > 0) {
+            int letter = Long.numberOfTrailingZeros(fresh);
+            fresh &= fresh - 1;
+            apply(candidates, letter, game.revealedPositionsOf(letter));
+            count = popCount(candidates);
+        }
+        appliedMask = guessed;
+        return count;
+    }
+
+    /**
+     * @return The unguessed letter with the highest information gain, or the most frequent
+     *         unguessed letter if the word is not in the dictionary.
+     */
+    public char bestGuess(HangmanGame game) {
+        if (update(game) == 0) return FrequencyStrategy.firstUnguessed(game);
+
+        boolean exact = count <= EXACT_ENTROPY_LIMIT;
+        if (exact) collectPatterns();
+        else countPresence();
+
+        char best = 0;
+        double bestEntropy = -1;
+        int bestPresent = -1;
+        for (int letter = 0; letter < letters; letter++) {
+            if ((appliedMask & (1L << letter)) != 0) continue;
+            int present = presentCounts[letter];
+            double entropy = exact ? patternEntropy(letter) : splitEntropy(present);
+            if (entropy > bestEntropy + 1e-9 || (entropy > bestEntropy - 1e-9 && present > bestPresent)) {
+                bestEntropy = entropy;
+                bestPresent = present;
+                best = alphabet.letterAt(letter);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Picks the hidden letter of the secret whose reveal tells the most about the word:
+     * the one that leaves the fewest candidates (ties: the one revealing more positions).
+     * @return The letter, or 0 if the word is not in the dictionary (use a random hint then).
+     */
+    public char bestHint(HangmanGame game) {
+        if (update(game) == 0) return 0;
+        if (scratch.length != candidates.length) scratch = new long[candidates.length];
+
+        String word = game.getSecretWord();
+        char best = 0;
+        int bestRemaining = Integer.MAX_VALUE;
+        int bestRevealed = -1;
+        for (int letter = 0; letter < letters; letter++) {
+            if ((appliedMask & (1L << letter)) != 0) continue;
+            long positions = 0;
+            for (int i = 0; i < length; i++) {
+                if (alphabet.indexOf(word.charAt(i)) == letter) positions |= 1L << i;
+            }
+            if (positions == 0) continue; // Not in the word: a hint cannot reveal it
+
+            System.arraycopy(candidates, 0, scratch, 0, candidates.length);
+            apply(scratch, letter, positions);
+            int remaining = popCount(scratch);
+            int revealed = Long.bitCount(positions);
+            if (remaining < bestRemaining || (remaining == bestRemaining && revealed > bestRevealed)) {
+                bestRemaining = remaining;
+                bestRevealed = revealed;
+                best = alphabet.letterAt(letter);
+            }
+        }
+        return best;
+    }
+
+    // Starts from every dictionary word of the secret's length (and the same non-letter characters)
+    private void reset(HangmanGame game) {
+        String word = game.getSecretWord();
+        trackedWord = word;
+        appliedMask = 0;
+        length = word.length();
+
+        // A round in another alphabet than the dictionary's has no candidates
+        if (length >= index.words.length || game.getAlphabet() != alphabet) {
+            count = 0;
+            return;
+        }
+        long[] plain = index.plain[length];
+        if (candidates.length != plain.length) candidates = new long[plain.length];
+
+        boolean plainWord = true;
+        for (int i = 0; i < length && plainWord; i++) {
+            plainWord = alphabet.indexOf(word.charAt(i)) >= 0;
+        }
+
+        if (plainWord) {
+            System.arraycopy(plain, 0, candidates, 0, plain.length);
+        } else {
+            // Rare: spaces or hyphens are shown from the start, so candidates must have them too
+            Arrays.fill(candidates, 0);
+            String[] group = index.words[length];
+            for (int slot = 0; slot < group.length; slot++) {
+                if (sameNonLetters(group[slot], word)) candidates[slot >>> 6] |= 1L << slot;
+            }
+        }
+        count = popCount(candidates);
+    }
+
+    private boolean sameNonLetters(String candidate, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            boolean letter = alphabet.indexOf(word.charAt(i)) >= 0;
+            if (letter != (alphabet.indexOf(candidate.charAt(i)) >= 0)) return false;
+            if (!letter && candidate.charAt(i) != word.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    // Keeps the words that have 'letter' exactly at 'positions' (none at all for a miss)
+    private void apply(long[] set, int letter, long positions) {
+        if (positions == 0) {
+            long[] present = index.presence[length][letter];
+            for (int w = 0; w < set.length; w++) set[w] &= ~present[w];
+            return;
+        }
+        for (int pos = 0; pos < length; pos++) {
+            long[] at = index.atPosition[length][pos * letters + letter];
+            if (((positions >>> pos) & 1) != 0) {
+                for (int w = 0; w < set.length; w++) set[w] &= at[w];
+            } else {
+                for (int w = 0; w < set.length; w++) set[w] &= ~at[w];
+            }
+        }
+    }
+
+    // Large candidate sets: only how many candidates contain each letter
+    private void countPresence() {
+        for (int letter = 0; letter < letters; letter++) {
+            if ((appliedMask & (1L << letter)) != 0) continue;
+            long[] present = index.presence[length][letter];
+            int n = 0;
+            for (int w = 0; w < candidates.length; w++) n += Long.bitCount(candidates[w] & present[w]);
+            presentCounts[letter] = n;
+        }
+    }
+
+    // Small candidate sets: one pass over the candidates records every letter's position pattern
+    private void collectPatterns() {
+        if (patterns.length < letters * count) patterns = new long[letters * EXACT_ENTROPY_LIMIT];
+        Arrays.fill(patterns, 0, letters * count, 0);
+        Arrays.fill(presentCounts, 0);
+
+        byte[] wordLetters = index.letters[length];
+        int c = 0;
+        for (int w = 0; w < candidates.length; w++) {
+            for (long bits = candidates[w]; bits != 0; bits &= bits - 1) {
+                int slot = (w << 6) + Long.numberOfTrailingZeros(bits);
+                int base = slot * length;
+                for (int pos = 0; pos < length; pos++) {
+                    int letter = wordLetters[base + pos];
+                    if (letter >= 0) patterns[letter * count + c] |= 1L << pos;
+                }
+                c++;
+            }
+        }
+        for (int letter = 0; letter < letters; letter++) {
+            int n = 0;
+            for (int i = letter * count, end = i + count; i < end; i++) {
+                if (patterns[i] != 0) n++;
+            }
+            presentCounts[letter] = n;
+        }
+    }
+
+    // Entropy (in bits) of splitting the candidates by the positions of the letter
+    private double patternEntropy(int letter) {
+        int present = presentCounts[letter];
+        if (present == 0) return 0;
+
+        int capacity = Integer.highestOneBit(Math.max(count, 8) * 2) * 2;
+        if (tableKeys.length < capacity) {
+            tableKeys = new long[capacity];
+            tableCounts = new int[capacity];
+            tableStamp = new int[capacity];
+        }
+        if (++stamp == 0) { // Stamp wrapped around: clear once
+            Arrays.fill(tableStamp, 0);
+            stamp = 1;
+        }
+        int mask = capacity - 1;
+
+        double entropy = 0;
+        for (int i = letter * count, end = i + count; i < end; i++) {
+            long pattern = patterns[i];
+            if (pattern == 0) continue; // Absent: one group, accounted for below
+            int slot = (int) (pattern * 0x9E3779B97F4A7C15L >>> 40) & mask;
+            while (tableStamp[slot] == stamp && tableKeys[slot] != pattern) slot = (slot + 1) & mask;
+            if (tableStamp[slot] != stamp) {
+                tableStamp[slot] = stamp;
+                tableKeys[slot] = pattern;
+                tableCounts[slot] = 0;
+            }
+            tableCounts[slot]++;
+        }
+        for (int slot = 0; slot < capacity; slot++) {
+            if (tableStamp[slot] == stamp) entropy += term(tableCounts[slot]);
+        }
+        return entropy + term(count - present);
+    }
+
+    private double splitEntropy(int present) {
+        return term(present) + term(count - present);
+    }
+
+    // -p * log2(p) of a group of n out of count candidates
+    private double term(int n) {
+        if (n == 0) return 0;
+        double p = (double) n / count;
+        return -p * Math.log(p) / LN_2;
+    }
+
+    private static int popCount(long[] set) {
+        int n = 0;
+        for (long bits : set) n += Long.bitCount(bits);
+        return n;
+    }
+}
@@ -0,0 +1,98 @@
+package github.ysbar.hangman.engine;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * Read-only dictionary index used by Solver, shared by any number of solvers and threads.
+ *
+ * Words are grouped by length. Inside a length group every word has a slot, and for every
+ * letter of the alphabet (and every position/letter pair) there is a bitset over those slots:
+ *   presence[L][letter]                   - words of length L that contain the letter
+ *   atPosition[L][pos * letters + letter] - words of length L with the letter at that position
+ *   plain[L]                              - words of length L made only of letters of the alphabet
+ * A guess result is applied to a candidate bitset with a handful of AND / AND-NOT passes.
+ */
+
+public final class SolverIndex {
+
+    final Alphabet alphabet;
+    final int letterCount;       // alphabet.size()
+    final String[][] words;      // [length][slot]
+    final byte[][] letters;      // [length][slot * length + pos], letter index or -1
+    final long[][][] presence;   // [length][letter][bitset word]
+    final long[][][] atPosition; // [length][pos * letterCount + letter][bitset word]
+    final long[][] plain;        // [length][bitset word]
+
+    private SolverIndex(Alphabet alphabet, String[][] words, byte[][] letters, long[][][] presence,
+                        long[][][] atPosition, long[][] plain) {
+        this.alphabet = alphabet;
+        this.letterCount = alphabet.size();
+        this.words = words;
+        this.letters = letters;
+        this.presence = presence;
+        this.atPosition = atPosition;
+        this.plain = plain;
+    }
+
+    /**
+     * Builds the index over normalized words of the alphabet; duplicate words and words longer than
+     * HangmanGame.MAX_LENGTH are skipped.
+     */
+    public static SolverIndex build(Iterable<String> dictionary, Alphabet alphabet) {
+        int letterCount = alphabet.size();
+        // Group unique words by length
+        List<List<String>> groups = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String word : dictionary) {
+            if (word.length() > HangmanGame.MAX_LENGTH || !seen.add(word)) continue;
+            while (groups.size() <= word.length()) groups.add(new ArrayList<>());
+            groups.get(word.length()).add(word);
+        }
+
+        int maxLength = groups.size() - 1;
+        String[][] words = new String[maxLength + 1][];
+        byte[][] letters = new byte[maxLength + 1][];
+        long[][][] presence = new long[maxLength + 1][][];
+        long[][][] atPosition = new long[maxLength + 1][][];
+        long[][] plain = new long[maxLength + 1][];
+
+        for (int length = 0; length <= maxLength; length++) {
+            String[] group = groups.get(length).toArray(new String[0]);
+            int bitsetWords = (group.length + 63) >>> 6;
+            words[length] = group;
+            letters[length] = new byte[group.length * length];
+            presence[length] = new long[letterCount][bitsetWords];
+            atPosition[length] = new long[length * letterCount][bitsetWords];
+            plain[length] = new long[bitsetWords];
+
+            for (int slot = 0; slot < group.length; slot++) {
+                long bit = 1L << slot;
+                int word = slot >>> 6;
+                plain[length][word] |= bit;
+                for (int pos = 0; pos < length; pos++) {
+                    int letter = alphabet.indexOf(group[slot].charAt(pos));
+                    letters[length][slot * length + pos] = (byte) letter;
+                    if (letter < 0) {
+                        plain[length][word] &= ~bit;
+                        continue;
+                    }
+                    presence[length][letter][word] |= bit;
+                    atPosition[length][pos * letterCount + letter][word] |= bit;
+                }
+            }
+        }
+        return new SolverIndex(alphabet, words, letters, presence, atPosition, plain);
+    }
+
+    /**
+     * @return Number of dictionary words with the given length.
+     */
+    public int wordsOfLength(int length) {
+        return (length < words.length) ? words[length].length : 0;
+    }
+}
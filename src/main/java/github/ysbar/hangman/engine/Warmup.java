@@ -0,0 +1,42 @@
+package github.ysbar.hangman.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * Plays headless rounds on a few fixed words so the JIT compiles the guess, hint and
+ * display paths before the player's first round (used by the splash screen at startup).
+ */
+
+public final class Warmup {
+
+    private static final String[] WORDS = { "JAVA", "HANGMAN", "DEVELOPER", "KEYBOARD", "QUIZZICAL", "ICE-CREAM" };
+
+    private Warmup() {
+    }
+
+    /**
+     * @return Number of rounds won (returned so the work cannot be optimized away).
+     */
+    public static int run(int rounds) {
+        SplittableRandom random = new SplittableRandom(42);
+        HangmanGame game = new HangmanGame(WORDS[0], 6, random, Alphabet.ENGLISH); // The words are English
+        MaskedWord masked = new MaskedWord();
+        GuessStrategy strategy = new FrequencyStrategy();
+        int wins = 0;
+
+        for (int round = 0; round < rounds; round++) {
+            game.start(WORDS[round % WORDS.length], 6);
+            masked.refresh(game);
+            if (round % 3 == 0) game.hint(); // Also exercise the hint path
+            while (game.getStatus() == GameStatus.PLAYING) {
+                game.guess(strategy.nextGuess(game));
+                masked.refresh(game);
+            }
+            if (game.getStatus() == GameStatus.WON) wins++;
+            masked.revealAll(game);
+        }
+        return wins;
+    }
+}
@@ -0,0 +1,35 @@
+package github.ysbar.hangman.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: A monotonically increasing count (events, errors, bytes). Striped (LongAdder),
+ * so threads incrementing at the same time do not contend; increments never allocate.
+ */
+
+public final class Counter {
+
+    private final String name;
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long delta) {
+        value.add(delta);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    public String name() {
+        return name;
+    }
+}
@@ -0,0 +1,66 @@
+package github.ysbar.hangman.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Java Flight Recorder events for the instrumented hot paths, shown under "Hangman" in JDK Mission
+ * Control. Record with e.g. "-XX:StartFlightRecording=filename=hangman.jfr". While no recording
+ * is running the events are disabled and cost next to nothing (the JIT removes the allocation).
+ *
+ * Usage: event.begin() before the work, set the fields and event.commit() after it.
+ */
+
+public final class HangmanEvents {
+
+    private HangmanEvents() {}
+
+    @Name("github.ysbar.hangman.WordLoad")
+    @Label("Word List Load")
+    @Category("Hangman")
+    @Description("Loading one word list (pack, source or streaming sampler)")
+    @StackTrace(false)
+    public static final class WordLoad extends Event {
+        @Label("Difficulty") public String difficulty;
+        @Label("Source") public String source;
+        @Label("Words") public int words;
+    }
+
+    @Name("github.ysbar.hangman.SceneSwitch")
+    @Label("Scene Switch")
+    @Category("Hangman")
+    @Description("Switching the window to another FXML scene")
+    @StackTrace(false)
+    public static final class SceneSwitch extends Event {
+        @Label("Scene") public String scene;
+        @Label("Cached") public boolean cached;
+    }
+
+    @Name("github.ysbar.hangman.HighscoreWrite")
+    @Label("Highscore Write")
+    @Category("Hangman")
+    @Description("One append and fsync of queued sessions to a highscore ledger")
+    @StackTrace(false)
+    public static final class HighscoreWrite extends Event {
+        @Label("Records") public int records;
+        @Label("Bytes") @DataAmount public long bytes;
+        @Label("Failed") public boolean failed;
+    }
+
+    @Name("github.ysbar.hangman.Guess")
+    @Label("Guess")
+    @Category("Hangman")
+    @Description("One guessed letter, from input to the updated game state")
+    @StackTrace(false)
+    public static final class Guess extends Event {
+        @Label("Letter") public char letter;
+        @Label("Result") public String result;
+    }
+}
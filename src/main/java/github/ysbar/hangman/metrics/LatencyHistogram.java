@@ -0,0 +1,114 @@
+package github.ysbar.hangman.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Latency distribution in nanoseconds with HDR-style log-linear buckets: every power of two is split
+ * into SUB_BUCKETS equal parts, so any recorded value is reported with at most ~3% error
+ * (1 / SUB_BUCKETS) from 1 ns up to MAX_NANOS. Recording is one index computation and one atomic
+ * increment into a fixed array, safe from any thread and without allocation.
+ */
+
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;  // 32 buckets per power of two
+    private static final int MAX_EXPONENT = 40;                    // 2^41 ns, about 36 minutes
+    public static final long MAX_NANOS = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one duration; negative values count as 0, values above MAX_NANOS as MAX_NANOS.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, Math.min(nanos, MAX_NANOS));
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // Another thread raised the maximum; retry against the new value
+        }
+    }
+
+    /**
+     * Records the time since startNanos (a System.nanoTime() value).
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return Immutable view of the current distribution (taken without stopping writers).
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = buckets.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(name, copy, total, sum.sum(), max.get());
+    }
+
+    public String name() {
+        return name;
+    }
+
+    // Values below SUB_BUCKETS map 1:1; above, the top SUB_BUCKET_BITS + 1 bits select the bucket
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // >= SUB_BUCKET_BITS
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;      // 0 .. SUB_BUCKETS - 1
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    // Largest value that falls into the bucket
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+
+    /**
+     * A copy of the distribution for reports.
+     */
+    public record Snapshot(String name, long[] buckets, long count, long sumNanos, long maxNanos) {
+
+        /**
+         * @param percentile 0-100
+         * @return Upper bound of the bucket holding that percentile, in nanoseconds (0 if empty).
+         */
+        public long percentile(double percentile) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) return Math.min(highestValueOf(i), maxNanos);
+            }
+            return maxNanos;
+        }
+
+        public double meanNanos() {
+            return (count == 0) ? 0 : (double) sumNanos / count;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package github.ysbar.hangman.metrics;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Process-wide registry of named counters and latency histograms. Look a metric up once and keep
+ * it in a static final field; recording into it afterwards never allocates or locks:
+ *
+ *     private static final LatencyHistogram LOAD_TIME = Metrics.histogram("word.load");
+ *     ...
+ *     long start = System.nanoTime();
+ *     ...
+ *     LOAD_TIME.recordSince(start);
+ *
+ * Names are dotted, component first ("scene.switch.cached", "highscore.write").
+ * Errors are counted as "errors.<component>" next to their System.err line (see error()).
+ * MetricsDumper writes everything registered here to a file periodically.
+ */
+
+public final class Metrics {
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private Metrics() {}
+
+    /**
+     * @return The counter with this name, created on first use.
+     */
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * @return The histogram with this name, created on first use.
+     */
+    public static LatencyHistogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * Counts an error of a component ("errors.<component>"), so errors show up in the dump
+     * and not only on System.err. Only for error paths: the lookup is a map access.
+     */
+    public static void error(String component) {
+        counter("errors." + component).increment();
+    }
+
+    static Collection<Counter> counters() {
+        return COUNTERS.values();
+    }
+
+    static Collection<LatencyHistogram> histograms() {
+        return HISTOGRAMS.values();
+    }
+}
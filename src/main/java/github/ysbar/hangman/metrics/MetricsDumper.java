@@ -0,0 +1,144 @@
+package github.ysbar.hangman.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Writes every registered metric to a local file at a fixed interval and once more on stop.
+ * Enabled with -Dhangman.metrics=<file>; a file ending in ".json" gets JSON, anything else a
+ * plain text table. -Dhangman.metrics.interval=<seconds> sets the interval (default 10).
+ * The file is replaced atomically, so a reader never sees a half-written dump.
+ */
+
+public final class MetricsDumper {
+
+    public static final String FILE_PROPERTY = "hangman.metrics";
+    public static final String INTERVAL_PROPERTY = "hangman.metrics.interval";
+    private static final long DEFAULT_INTERVAL_SECONDS = 10;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final long STOP_TIMEOUT_SECONDS = 5;
+    private static final Object DUMP_LOCK = new Object(); // One writer of a ".tmp" file at a time
+
+    private static ScheduledExecutorService dumper;
+    private static Path file;
+
+    private MetricsDumper() {}
+
+    /**
+     * Starts the periodic dump if -Dhangman.metrics is set; does nothing otherwise.
+     */
+    public static synchronized void startFromSystemProperties() {
+        String target = System.getProperty(FILE_PROPERTY);
+        if (target == null || target.isBlank() || dumper != null) return;
+
+        file = Path.of(target).toAbsolutePath();
+        long interval = Long.getLong(INTERVAL_PROPERTY, DEFAULT_INTERVAL_SECONDS);
+        dumper = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("metrics-dumper").factory());
+        dumper.scheduleWithFixedDelay(() -> dump(file), interval, interval, TimeUnit.SECONDS);
+        System.out.println("INFO: Writing metrics to " + file + " every " + interval + " s.");
+    }
+
+    /**
+     * Stops the periodic dump, waits for a dump still being written and writes the final state.
+     */
+    public static synchronized void stop() {
+        if (dumper == null) return;
+        dumper.shutdown(); // A dump that is running finishes; no new one starts
+        try {
+            if (!dumper.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("ERROR: Periodic metrics dump did not finish, writing the final one anyway.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dumper = null;
+        dump(file);
+    }
+
+    /**
+     * Writes all metrics to the file now (JSON for ".json", text otherwise).
+     */
+    public static void dump(Path target) {
+        String content = target.toString().endsWith(".json") ? toJson() : toText();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        // Serialized, so a dump from another thread never writes the same ".tmp" file at the same time
+        synchronized (DUMP_LOCK) {
+            try {
+                Files.writeString(temp, content, StandardCharsets.UTF_8);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // ERROR HANDLING: metrics are best effort, the game keeps running
+                System.err.println("ERROR: Could not write metrics to " + target + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return All metrics as a text table (counters, then histograms in milliseconds).
+     */
+    public static String toText() {
+        StringBuilder out = new StringBuilder("# Hangman metrics at ").append(Instant.now()).append('\n');
+        for (Counter counter : sortedCounters()) {
+            out.append(String.format(Locale.ROOT, "%-32s %,d%n", counter.name(), counter.get()));
+        }
+        for (LatencyHistogram histogram : sortedHistograms()) {
+            LatencyHistogram.Snapshot s = histogram.snapshot();
+            out.append(String.format(Locale.ROOT, "%-32s count=%,d mean=%.3fms", s.name(), s.count(), s.meanNanos() / 1e6));
+            for (double p : PERCENTILES) {
+                out.append(String.format(Locale.ROOT, " p%s=%.3fms", label(p), s.percentile(p) / 1e6));
+            }
+            out.append(String.format(Locale.ROOT, " max=%.3fms%n", s.maxNanos() / 1e6));
+        }
+        return out.toString();
+    }
+
+    /**
+     * @return All metrics as one JSON object (times in nanoseconds).
+     */
+    public static String toJson() {
+        StringBuilder out = new StringBuilder("{\n  \"timestamp\": \"").append(Instant.now()).append("\",\n  \"counters\": {");
+        String separator = "\n";
+        for (Counter counter : sortedCounters()) {
+            out.append(separator).append("    \"").append(counter.name()).append("\": ").append(counter.get());
+            separator = ",\n";
+        }
+        out.append("\n  },\n  \"histograms\": {");
+        separator = "\n";
+        for (LatencyHistogram histogram : sortedHistograms()) {
+            LatencyHistogram.Snapshot s = histogram.snapshot();
+            out.append(separator).append("    \"").append(s.name()).append("\": {\"count\": ").append(s.count())
+                    .append(", \"meanNanos\": ").append(Math.round(s.meanNanos()));
+            for (double p : PERCENTILES) {
+                out.append(", \"p").append(label(p)).append("Nanos\": ").append(s.percentile(p));
+            }
+            out.append(", \"maxNanos\": ").append(s.maxNanos()).append('}');
+            separator = ",\n";
+        }
+        return out.append("\n  }\n}\n").toString();
+    }
+
+    // "50", "99", "99.9"
+    private static String label(double percentile) {
+        return (percentile == Math.rint(percentile)) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+
+    private static List<Counter> sortedCounters() {
+        return Metrics.counters().stream().sorted(Comparator.comparing(Counter::name)).toList();
+    }
+
+    private static List<LatencyHistogram> sortedHistograms() {
+        return Metrics.histograms().stream().sorted(Comparator.comparing(LatencyHistogram::name)).toList();
+    }
+}
@@ -0,0 +1,115 @@
+package github.ysbar.hangman.model;
+
+import github.ysbar.hangman.engine.Scoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Holds everything one player's session keeps between rounds and scenes: the settings, the running
+ * score and the stats of the last round. Kept per player instead of in static fields, so several
+ * sessions (e.g. the server's players) can exist in one JVM.
+ *
+ * THREADING:
+ * A session is confined to the thread that plays it (the JavaFX thread for the desktop app, the
+ * connection's thread on the server). Only the id and the last-activity time are read by other
+ * threads (SessionRegistry eviction), so those two are the only thread-safe fields.
+ */
+
+public class GameSession {
+
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+    public static final long NO_DAILY = Long.MIN_VALUE; // Day number of a round that is not a daily challenge
+
+    private final long id = NEXT_ID.getAndIncrement();
+    private volatile long lastActiveNanos = System.nanoTime();
+
+    // --- Configuration Settings ---
+    private SessionConfig config = SessionConfig.DEFAULT;
+
+    // --- Current Session Data (added to after every round) ---
+    private int totalScore;
+    private int wordsGuessed;
+    private int roundsPlayed;    // Rounds finished in this session (a session is recorded once it has any)
+    private long sessionMillis;  // Time spent in rounds of this session
+    private long dailyDay = NO_DAILY; // Day of the daily challenge the next round plays (see DailyChallenge)
+
+    // --- Stats of the last finished round (for the score screen) ---
+    private boolean lastRoundWon;
+    private int lastRoundScore;
+    private int lastRemainingAttempts;
+    private long lastRoundMillis;
+    private long lastRoundDay = NO_DAILY;
+
+    /**
+     * Changes the settings for the following rounds; the running score is kept.
+     */
+    public void configure(SessionConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Adds a finished round to the session: scores it with the session's difficulty and keeps
+     * its stats for the score screen.
+     * @return Points for the round (0 if lost).
+     */
+    public int recordRound(boolean win, int remainingAttempts, long durationMillis) {
+        lastRoundWon = win;
+        lastRemainingAttempts = remainingAttempts;
+        lastRoundMillis = durationMillis;
+        lastRoundScore = Scoring.roundScore(win, remainingAttempts, config.difficulty());
+        lastRoundDay = dailyDay;
+        dailyDay = NO_DAILY; // A daily challenge is one round; "Next Word" plays normal rounds
+
+        roundsPlayed++;
+        sessionMillis += durationMillis;
+        totalScore += lastRoundScore;
+        if (win) wordsGuessed++;
+        return lastRoundScore;
+    }
+
+    /**
+     * Makes the next round the daily challenge of the day (see DailyChallenge).
+     */
+    public void startDaily(long day) {
+        dailyDay = day;
+    }
+
+    /**
+     * Resets the session data to default values (the settings are kept).
+     */
+    public void resetScore() {
+        totalScore = 0;
+        wordsGuessed = 0;
+        lastRoundScore = 0;
+        roundsPlayed = 0;
+        sessionMillis = 0;
+        dailyDay = NO_DAILY;
+    }
+
+    /**
+     * Marks the session as active now, so the registry does not evict it as idle.
+     */
+    public void touch() {
+        lastActiveNanos = System.nanoTime();
+    }
+
+    // --- GETTERS ---
+
+    public long getId() { return id; }
+    public long getLastActiveNanos() { return lastActiveNanos; }
+    public SessionConfig getConfig() { return config; }
+    public int getTotalScore() { return totalScore; }
+    public int getWordsGuessed() { return wordsGuessed; }
+    public int getRoundsPlayed() { return roundsPlayed; }
+    public long getSessionMillis() { return sessionMillis; }
+    public boolean isLastRoundWon() { return lastRoundWon; }
+    public int getLastRoundScore() { return lastRoundScore; }
+    public int getLastRemainingAttempts() { return lastRemainingAttempts; }
+    public long getLastRoundMillis() { return lastRoundMillis; }
+    public boolean isDaily() { return dailyDay != NO_DAILY; }
+    public long getDailyDay() { return dailyDay; }
+    public boolean isLastRoundDaily() { return lastRoundDay != NO_DAILY; }
+    public long getLastRoundDay() { return lastRoundDay; }
+}
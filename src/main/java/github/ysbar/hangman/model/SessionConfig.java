@@ -0,0 +1,30 @@
+package github.ysbar.hangman.model;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * The settings a session is played with (chosen in the Configuration screen or by a server client).
+ * Immutable, so it can be handed between threads and shared by any number of sessions.
+ *
+ * @param difficulty Word difficulty label ("Easy", "Medium", "Hard").
+ * @param attempts   Lives per round.
+ * @param smartHints Hints reveal the most informative letter instead of a random one.
+ */
+
+public record SessionConfig(String difficulty, int attempts, boolean smartHints) {
+
+    public static final int MAX_ATTEMPTS = 26; // More lives than letters would never be used
+
+    // Medium words, 6 lives, random hints (the preselected options of the Configuration screen)
+    public static final SessionConfig DEFAULT = new SessionConfig("Medium", 6, false);
+
+    public SessionConfig {
+        // ERROR HANDLING: reject settings no round could be played with
+        if (difficulty == null || difficulty.isBlank()) {
+            throw new IllegalArgumentException("Difficulty must not be empty");
+        }
+        if (attempts < 1 || attempts > MAX_ATTEMPTS) {
+            throw new IllegalArgumentException("Attempts must be 1-" + MAX_ATTEMPTS + ", was " + attempts);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package github.ysbar.hangman.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Keeps the open sessions of a process (e.g. one per server connection) with bounded memory:
+ * at most maxSessions are open at once, and sessions without activity for the idle timeout are
+ * evicted. Safe to use from any number of threads.
+ */
+
+public class SessionRegistry {
+
+    private final int maxSessions;
+    private final long idleTimeoutNanos;
+    private final Map<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger(); // Exact count; the map's size() is only an estimate under contention
+
+    public SessionRegistry(int maxSessions, long idleTimeoutMillis) {
+        if (maxSessions < 1) throw new IllegalArgumentException("maxSessions must be positive");
+        this.maxSessions = maxSessions;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+    }
+
+    /**
+     * Opens a new session. When the registry is full, idle sessions are evicted first.
+     * @throws IllegalStateException if the registry is still full afterwards.
+     */
+    public GameSession open() {
+        if (!reserve()) {
+            evictIdle();
+            if (!reserve()) {
+                throw new IllegalStateException("Session limit reached (" + maxSessions + ")");
+            }
+        }
+        GameSession session = new GameSession();
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * @return The open session with this id (marked as active), or null if it was closed or evicted.
+     */
+    public GameSession get(long id) {
+        GameSession session = sessions.get(id);
+        if (session != null) session.touch();
+        return session;
+    }
+
+    /**
+     * Closes a session; does nothing if it was already closed or evicted.
+     */
+    public void close(long id) {
+        if (sessions.remove(id) != null) open.decrementAndGet();
+    }
+
+    /**
+     * Removes every session that has been idle for longer than the idle timeout.
+     * @return Number of evicted sessions.
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (GameSession session : sessions.values()) {
+            // remove(key, value): a session closed concurrently is not counted twice
+            if (now - session.getLastActiveNanos() > idleTimeoutNanos && sessions.remove(session.getId(), session)) {
+                open.decrementAndGet();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return open.get();
+    }
+
+    // Claims a slot without ever exceeding maxSessions
+    private boolean reserve() {
+        int current;
+        do {
+            current = open.get();
+            if (current >= maxSessions) return false;
+        } while (!open.compareAndSet(current, current + 1));
+        return true;
+    }
+}
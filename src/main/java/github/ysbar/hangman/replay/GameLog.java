@@ -0,0 +1,61 @@
+package github.ysbar.hangman.replay;
+
+import github.ysbar.hangman.engine.Alphabet;
+import github.ysbar.hangman.engine.HangmanGame;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY: One recorded round: everything HangmanGame needs to play it again, the moves in
+ * order, and the score the player was given (to verify against the replay).
+ *
+ * Moves are encoded as one byte each (see the MOVE_ constants; read them with "& 0xFF"), with the
+ * milliseconds since the previous move (or the round start) at the same index of delaysMillis.
+ *
+ * @param seed          Seed of the round (HangmanGame.getSeed())
+ * @param startedAt     Round start, epoch milliseconds
+ * @param difficulty    Word difficulty label (decides the score multiplier)
+ * @param attempts      Lives at the start of the round
+ * @param alphabet      Alphabet the round was played in (letter indexes in moves refer to it)
+ * @param word          The secret word. Stored as text instead of a dictionary id, so archived
+ *                      rounds stay valid when the word lists change.
+ * @param moves         Guesses and hints in order
+ * @param delaysMillis  Think time before each move
+ * @param claimedScore  Points the round was given when it was played
+ */
+
+public record GameLog(long seed, long startedAt, String difficulty, int attempts, Alphabet alphabet, String word,
+                      byte[] moves, int[] delaysMillis, int claimedScore) {
+
+    public static final int MOVE_GUESS = 0;         // + letter index 0-63: guess(letter)
+    public static final int MOVE_HINT = 64;         // + letter index 0-63: hint(letter), e.g. a smart hint
+    public static final int MOVE_RANDOM_HINT = 128; // hint() with the round's seeded random position
+
+    /**
+     * Plays the moves on the game (started fresh with this round's alphabet, word, attempts and seed).
+     * The game is left in the final state of the round.
+     */
+    public void replay(HangmanGame game) {
+        game.setAlphabet(alphabet);
+        game.start(word, attempts, seed);
+        for (byte move : moves) {
+            apply(game, move & 0xFF);
+        }
+    }
+
+    static void apply(HangmanGame game, int move) {
+        if (move == MOVE_RANDOM_HINT) {
+            game.hint();
+        } else if (move >= MOVE_HINT) {
+            game.hint(game.getAlphabet().letterAt(move - MOVE_HINT));
+        } else {
+            game.guess(game.getAlphabet().letterAt(move - MOVE_GUESS));
+        }
+    }
+
+    /**
+     * @return true if the encoded move is a hint (chosen or random).
+     */
+    public static boolean isHint(byte move) {
+        return (move & 0xFF) >= MOVE_HINT;
+    }
+}
@@ -0,0 +1,115 @@
+package github.ysbar.hangman.replay;
+
+import github.ysbar.hangman.engine.Alphabet;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY: Reads the rounds of a replay log in order (format: see GameLogWriter).
+ * Single-threaded; ReplayTool hands the rounds to worker threads in batches.
+ * Rounds of a version 1 log are English, and their moves are converted to the current encoding.
+ */
+
+public class GameLogReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int MAX_STRING_BYTES = 1024; // Longer means the file is damaged
+
+    private final DataInputStream in;
+    private final Path file;
+    private final int version;
+    private boolean truncated;
+
+    public GameLogReader(Path file) throws IOException {
+        this.file = file;
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+        if (in.readInt() != GameLogWriter.MAGIC) {
+            in.close();
+            throw new IOException("Not a replay log: " + file);
+        }
+        version = in.readUnsignedByte();
+        if (version != GameLogWriter.VERSION && version != 1) {
+            in.close();
+            throw new IOException("Unsupported replay log version " + version + ": " + file);
+        }
+    }
+
+    /**
+     * @return The next round, or null at the end of the file (or at a round cut off by a crash, see isTruncated()).
+     */
+    public GameLog next() throws IOException {
+        int tag = in.read();
+        if (tag < 0) return null;
+        try {
+            if (tag != GameLogWriter.ROUND_TAG) throw new IOException("Damaged replay log " + file + " (bad round tag " + tag + ")");
+
+            long seed = in.readLong();
+            long startedAt = readVarLong();
+            String difficulty = readString();
+            int attempts = (int) readVarLong();
+            Alphabet alphabet = (version == 1) ? Alphabet.ENGLISH : Alphabet.forTag(readString());
+            if (alphabet == null) throw new IOException("Damaged replay log " + file + " (unknown alphabet)");
+            String word = readString();
+            int count = (int) readVarLong();
+            if (count > GameRecorder.MAX_MOVES) throw new IOException("Damaged replay log " + file + " (" + count + " moves)");
+
+            byte[] moves = new byte[count];
+            int[] delays = new int[count];
+            for (int i = 0; i < count; i++) {
+                moves[i] = (version == 1) ? fromVersion1(in.readUnsignedByte()) : in.readByte();
+                delays[i] = (int) Math.min(Integer.MAX_VALUE, readVarLong());
+            }
+            int claimedScore = (int) readVarLong();
+            return new GameLog(seed, startedAt, difficulty, attempts, alphabet, word, moves, delays, claimedScore);
+        } catch (EOFException e) {
+            // ERROR HANDLING: the last round was cut off while it was written; everything before it is valid
+            truncated = true;
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the file ended in the middle of a round.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // Version 1 moves: guess 0-25, hint 32 + letter, random hint 64
+    private static byte fromVersion1(int move) {
+        if (move == 64) return (byte) GameLog.MOVE_RANDOM_HINT;
+        if (move >= 32) return (byte) (GameLog.MOVE_HINT + move - 32);
+        return (byte) (GameLog.MOVE_GUESS + move);
+    }
+
+    private String readString() throws IOException {
+        int length = (int) readVarLong();
+        if (length > MAX_STRING_BYTES) throw new IOException("Damaged replay log " + file + " (string of " + length + " bytes)");
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Damaged replay log " + file + " (varint too long)");
+    }
+}
@@ -0,0 +1,116 @@
+package github.ysbar.hangman.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * Appends rounds to a replay log through a buffer. Thread-safe (one append at a time), but each
+ * append may write to disk, so the UI and the server go through GameRecorder's writer thread.
+ *
+ * FILE FORMAT (".hlog"):
+ *   header:  int MAGIC "HGLG", byte VERSION
+ *   round:   byte ROUND_TAG, long seed, varlong startedAt, string difficulty, varint attempts, string alphabet,
+ *            string word, varint moveCount, moveCount x (byte move, varint delayMillis), varint claimedScore
+ *   string = varint byte length + UTF-8 bytes; varint = 7 bits per byte, low bits first, high bit = "more"
+ * A typical round is 25-40 bytes. A round cut off by a crash is skipped by GameLogReader.
+ * Version 1 logs (English only, before alphabets) are still read; a new round is never appended to
+ * one, the old file is renamed to "<name>.v1" and a fresh log is started instead.
+ */
+
+public class GameLogWriter implements Closeable {
+
+    static final int MAGIC = 0x48474C47;  // "HGLG"
+    static final int VERSION = 2;
+    static final int ROUND_TAG = 'R';
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataOutputStream out;
+
+    /**
+     * Opens the log for appending, writing the header if the file is new or empty.
+     */
+    public GameLogWriter(Path file) throws IOException {
+        moveAsideIfOutdated(file);
+        boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+        OutputStream stream = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        out = new DataOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE));
+        if (fresh) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+        }
+    }
+
+    public synchronized void append(GameLog log) throws IOException {
+        out.writeByte(ROUND_TAG);
+        out.writeLong(log.seed());
+        writeVarLong(log.startedAt());
+        writeString(log.difficulty());
+        writeVarLong(log.attempts());
+        writeString(log.alphabet().tag());
+        writeString(log.word());
+        writeVarLong(log.moves().length);
+        for (int i = 0; i < log.moves().length; i++) {
+            out.writeByte(log.moves()[i]);
+            writeVarLong(log.delaysMillis()[i]);
+        }
+        writeVarLong(log.claimedScore());
+    }
+
+    public synchronized void appendAll(List<GameLog> logs) throws IOException {
+        for (GameLog log : logs) append(log);
+    }
+
+    /**
+     * Writes the buffered rounds to the file.
+     */
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    // A log of an older version is kept under "<name>.v<version>" (still readable) instead of mixing formats
+    private static void moveAsideIfOutdated(Path file) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < Integer.BYTES + 1) return;
+        int version;
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != MAGIC) return; // Not a replay log: leave it as it is
+            version = in.readUnsignedByte();
+        }
+        if (version == VERSION) return;
+        Path old = file.resolveSibling(file.getFileName() + ".v" + version);
+        Files.move(file, old, StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("INFO: Replay log " + file + " has format version " + version + ", moved to " + old);
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        out.write(bytes);
+    }
+
+    // Unsigned LEB128 (negative values are stored as 0; nothing in a round is negative)
+    private void writeVarLong(long value) throws IOException {
+        long v = Math.max(0, value);
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+}
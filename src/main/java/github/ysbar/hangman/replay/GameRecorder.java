@@ -0,0 +1,157 @@
+package github.ysbar.hangman.replay;
+
+import github.ysbar.hangman.engine.Alphabet;
+import github.ysbar.hangman.engine.HangmanGame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * Records the rounds of one player into a replay log: the caller reports the round start, every
+ * move and the score, and finished rounds are appended to the log on a background writer thread,
+ * so neither the JavaFX thread nor a server connection ever waits for the disk.
+ *
+ * One recorder per player (confined to the player's thread); all recorders share one writer thread,
+ * and recorders for the same file share its GameLogWriter.
+ */
+
+public class GameRecorder {
+
+    static final int MAX_MOVES = 255; // A round has at most one guess or hint per letter (<= 64); more is ignored
+
+    // --- SHARED WRITER THREAD ---
+    private static final ExecutorService WRITER =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("replay-writer").factory());
+    private static final Map<Path, GameLogWriter> WRITERS = new ConcurrentHashMap<>(); // Only used on WRITER
+    private static final AtomicInteger PENDING = new AtomicInteger(); // Rounds queued but not yet written
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    private final Path file;
+
+    // --- CURRENT ROUND ---
+    private final byte[] moves = new byte[MAX_MOVES];
+    private final int[] delays = new int[MAX_MOVES];
+    private int moveCount;
+    private long seed;
+    private long startedAt;
+    private long lastMoveAt;
+    private String difficulty;
+    private int attempts;
+    private Alphabet alphabet;
+    private String word;
+    private boolean recording;
+
+    public GameRecorder(Path file) {
+        this.file = file.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Call right after game.start(): remembers the alphabet, word, lives and seed of the round.
+     */
+    public void startRound(HangmanGame game, String difficulty) {
+        this.seed = game.getSeed();
+        this.alphabet = game.getAlphabet();
+        this.word = game.getSecretWord();
+        this.attempts = game.getRemainingAttempts();
+        this.difficulty = difficulty;
+        this.startedAt = System.currentTimeMillis();
+        this.lastMoveAt = startedAt;
+        this.moveCount = 0;
+        this.recording = true;
+    }
+
+    public void guess(char letter) {
+        int index = alphabet.indexOf(letter);
+        if (index >= 0) add(GameLog.MOVE_GUESS + index);
+    }
+
+    /**
+     * A call of HangmanGame.hint(letter), e.g. a smart hint. Record it before the call, like every
+     * move: a hint that reveals the last letter finishes the round. A refused hint is replayed as refused.
+     */
+    public void hint(char letter) {
+        int index = alphabet.indexOf(letter);
+        if (index >= 0) add(GameLog.MOVE_HINT + index);
+    }
+
+    /**
+     * A call of HangmanGame.hint() (random position).
+     */
+    public void randomHint() {
+        add(GameLog.MOVE_RANDOM_HINT);
+    }
+
+    /**
+     * Ends the round and queues it for the log.
+     * @param score Points the round was given (checked by ReplayTool).
+     */
+    public void finishRound(int score) {
+        if (!recording) return;
+        recording = false;
+
+        GameLog log = new GameLog(seed, startedAt, difficulty, attempts, alphabet, word,
+                Arrays.copyOf(moves, moveCount), Arrays.copyOf(delays, moveCount), score);
+        PENDING.incrementAndGet();
+        WRITER.execute(() -> write(file, log));
+    }
+
+    /**
+     * Writes everything queued and closes the logs. Waits (up to CLOSE_TIMEOUT_SECONDS) because it is
+     * called when the application exits.
+     */
+    public static void closeAll() {
+        WRITER.shutdown();
+        try {
+            if (!WRITER.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("ERROR: Replay log was not written completely.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (GameLogWriter writer : WRITERS.values()) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println("ERROR: Failed to close replay log: " + e.getMessage());
+            }
+        }
+        WRITERS.clear();
+    }
+
+    private void add(int move) {
+        if (!recording || moveCount == MAX_MOVES) return;
+        long now = System.currentTimeMillis();
+        moves[moveCount] = (byte) move;
+        delays[moveCount] = (int) Math.min(Integer.MAX_VALUE, now - lastMoveAt);
+        moveCount++;
+        lastMoveAt = now;
+    }
+
+    // Writer thread: append, and flush once nothing else is queued (rounds arriving together share a write)
+    private static void write(Path file, GameLog log) {
+        boolean last = PENDING.decrementAndGet() == 0;
+        try {
+            GameLogWriter writer = WRITERS.get(file);
+            if (writer == null) {
+                writer = new GameLogWriter(file);
+                WRITERS.put(file, writer);
+            }
+            writer.append(log);
+            if (last) {
+                for (GameLogWriter open : WRITERS.values()) open.flush();
+            }
+        } catch (IOException e) {
+            // ERROR HANDLING: a lost replay entry never affects the game itself
+            System.err.println("ERROR: Could not write replay log " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package github.ysbar.hangman.replay;
+
+import github.ysbar.hangman.engine.GameStatus;
+import github.ysbar.hangman.engine.HangmanGame;
+import github.ysbar.hangman.engine.Scoring;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * COMMAND-LINE ENTRY POINT (no UI)
+ * Responsibilities:
+ * 1. Re-plays recorded rounds (replay logs, see GameLogWriter) headlessly on all cores.
+ * 2. Verifies every round: the replayed outcome must give exactly the score recorded when it was played.
+ * 3. Regenerates statistics per difficulty (win rate, average score, moves, hints, think time).
+ *
+ * Usage: ReplayTool <file.hlog | directory>...
+ * Exits with status 1 if any round does not replay to its recorded score.
+ *
+ * The log is read on the main thread and handed to the workers in batches of BATCH_SIZE rounds;
+ * at most 2 batches per worker are in flight, so memory stays flat for any archive size.
+ */
+
+public class ReplayTool {
+
+    private static final int BATCH_SIZE = 20_000;
+    private static final int MISMATCHES_SHOWN = 10;
+
+    private final int workers = Runtime.getRuntime().availableProcessors();
+    private final ExecutorService pool = Executors.newFixedThreadPool(workers);
+    private final Semaphore inFlight = new Semaphore(2 * workers);
+    private final ThreadLocal<HangmanGame> games =
+            ThreadLocal.withInitial(() -> new HangmanGame("A", 1, new SplittableRandom()));
+
+    private final Map<String, Stats> byDifficulty = new ConcurrentHashMap<>();
+    private final LongAdder mismatches = new LongAdder();
+    private final AtomicLong shown = new AtomicLong();
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            System.err.println("ERROR: Usage: ReplayTool <file.hlog | directory>...");
+            System.exit(2);
+        }
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            Path path = Path.of(arg);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> list = Files.list(path)) {
+                    list.filter(p -> p.toString().endsWith(".hlog")).sorted().forEach(files::add);
+                }
+            } else {
+                files.add(path);
+            }
+        }
+
+        ReplayTool tool = new ReplayTool();
+        long start = System.nanoTime();
+        long rounds = 0;
+        for (Path file : files) {
+            rounds += tool.replayFile(file);
+        }
+        tool.awaitWorkers();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Replayed %,d rounds from %d file(s) in %.1f s (%,.0f rounds/s on %d threads)%n",
+                rounds, files.size(), seconds, rounds / seconds, tool.workers);
+        tool.report();
+        if (tool.mismatchCount() > 0) System.exit(1);
+    }
+
+    // Reads one file and queues its rounds in batches; returns the number of rounds
+    long replayFile(Path file) throws InterruptedException {
+        long rounds = 0;
+        List<GameLog> batch = new ArrayList<>(BATCH_SIZE);
+        try (GameLogReader reader = new GameLogReader(file)) {
+            for (GameLog log; (log = reader.next()) != null; ) {
+                batch.add(log);
+                rounds++;
+                if (batch.size() == BATCH_SIZE) {
+                    submit(batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (reader.isTruncated()) {
+                System.err.println("ERROR: " + file + " ends with an incomplete round (skipped).");
+            }
+        } catch (IOException e) {
+            // ERROR HANDLING: report the damaged file, keep what was read and continue with the next
+            System.err.println("ERROR: " + e.getMessage() + " (the " + rounds + " rounds before it are replayed)");
+        } finally {
+            // Also after a damaged record: the rounds read before it are counted, so they must be replayed
+            submit(batch);
+        }
+        return rounds;
+    }
+
+    // Waits until every queued batch was replayed (the tool takes no more files afterwards)
+    void awaitWorkers() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.DAYS);
+    }
+
+    // Rounds replayed so far (all of them after awaitWorkers)
+    long replayedRounds() {
+        return byDifficulty.values().stream().mapToLong(s -> s.rounds.sum()).sum();
+    }
+
+    long mismatchCount() {
+        return mismatches.sum();
+    }
+
+    private void submit(List<GameLog> batch) throws InterruptedException {
+        if (batch.isEmpty()) return;
+        inFlight.acquire();
+        pool.execute(() -> {
+            try {
+                replayBatch(batch);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    // Worker thread: one reused game per thread, statistics collected locally and merged once per batch
+    private void replayBatch(List<GameLog> batch) {
+        HangmanGame game = games.get();
+        Map<String, Stats> local = new TreeMap<>();
+        for (GameLog log : batch) {
+            log.replay(game);
+            boolean won = game.getStatus() == GameStatus.WON;
+            int score = Scoring.roundScore(won, game.getRemainingAttempts(), log.difficulty());
+            if (score != log.claimedScore()) {
+                mismatches.increment();
+                if (shown.incrementAndGet() <= MISMATCHES_SHOWN) {
+                    System.err.printf("ERROR: Round of %s (seed %d, %s) replays to %d points, recorded %d%n",
+                            log.word(), log.seed(), log.difficulty(), score, log.claimedScore());
+                }
+            }
+            local.computeIfAbsent(log.difficulty(), d -> new Stats()).add(log, won, score);
+        }
+        local.forEach((difficulty, stats) -> byDifficulty.computeIfAbsent(difficulty, d -> new Stats()).merge(stats));
+    }
+
+    private void report() {
+        new TreeMap<>(byDifficulty).forEach((difficulty, s) -> {
+            long rounds = s.rounds.sum();
+            System.out.printf("%-8s %,12d rounds  win rate %6.2f %%  avg score %8.1f  avg moves %5.2f  hints/round %.3f  avg think time %,.0f ms%n",
+                    difficulty, rounds, 100.0 * s.wins.sum() / rounds, (double) s.score.sum() / rounds,
+                    (double) s.moves.sum() / rounds, (double) s.hints.sum() / rounds,
+                    s.moves.sum() == 0 ? 0.0 : (double) s.thinkMillis.sum() / s.moves.sum());
+        });
+        long bad = mismatches.sum();
+        System.out.println(bad == 0 ? "OK: every round replays to its recorded score." : "FAILED: " + bad + " rounds do not match their recorded score.");
+    }
+
+    /**
+     * Totals of one difficulty (LongAdders, so batches from any worker can merge into them).
+     */
+    private static final class Stats {
+        final LongAdder rounds = new LongAdder();
+        final LongAdder wins = new LongAdder();
+        final LongAdder score = new LongAdder();
+        final LongAdder moves = new LongAdder();
+        final LongAdder hints = new LongAdder();
+        final LongAdder thinkMillis = new LongAdder();
+
+        void add(GameLog log, boolean won, int roundScore) {
+            rounds.increment();
+            if (won) wins.increment();
+            score.add(roundScore);
+            moves.add(log.moves().length);
+            for (int i = 0; i < log.moves().length; i++) {
+                if (GameLog.isHint(log.moves()[i])) hints.increment();
+                thinkMillis.add(log.delaysMillis()[i]);
+            }
+        }
+
+        void merge(Stats other) {
+            rounds.add(other.rounds.sum());
+            wins.add(other.wins.sum());
+            score.add(other.score.sum());
+            moves.add(other.moves.sum());
+            hints.add(other.hints.sum());
+            thinkMillis.add(other.thinkMillis.sum());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package github.ysbar.hangman.server;
+
+import github.ysbar.hangman.metrics.Metrics;
+import github.ysbar.hangman.metrics.MetricsDumper;
+import github.ysbar.hangman.model.GameSession;
+import github.ysbar.hangman.model.SessionRegistry;
+import github.ysbar.hangman.replay.GameRecorder;
+import github.ysbar.hangman.service.Leaderboards;
+import github.ysbar.hangman.service.WordService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * Hosts many independent Hangman sessions in one JVM over TCP. Every connection gets its own
+ * virtual thread and its own ServerSession (game, score, settings), so blocking socket I/O is cheap
+ * and tens of thousands of idle players cost little more than their session objects.
+ * Sessions live in a SessionRegistry, which caps how many players are served at once and evicts
+ * sessions that went idle. Finished sessions go on the server's Leaderboards, which are saved to
+ * "server-leaderboards/" every SNAPSHOT_INTERVAL_SECONDS and when the server stops.
+ *
+ * Usage: HangmanServer [port=7777]
+ * Protocol: see ServerSession.
+ */
+
+public class HangmanServer {
+
+    public static final int DEFAULT_PORT = 7777;
+    private static final int BACKLOG = 4096;              // Pending connections while the accept loop catches up
+    private static final long STATS_INTERVAL_MILLIS = 10_000;
+    private static final int MAX_SESSIONS = 100_000;       // Further connections are turned away
+    private static final int LEADERBOARD_SIZE = 10;
+    private static final long SNAPSHOT_INTERVAL_SECONDS = 30;
+    private static final Path SNAPSHOT_DIR = Path.of("server-leaderboards");
+
+    private final int port;
+    private final WordService wordService = new WordService();
+    private final SessionRegistry sessions = new SessionRegistry(MAX_SESSIONS, ServerSession.IDLE_TIMEOUT_MILLIS);
+    private final Leaderboards leaderboards = new Leaderboards(LEADERBOARD_SIZE);
+    private final AtomicInteger connected = new AtomicInteger();
+    private final AtomicLong sessionsServed = new AtomicLong();
+
+    public HangmanServer(int port) {
+        this.port = port;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        new HangmanServer(port).run();
+    }
+
+    /**
+     * Accepts connections until the process is stopped.
+     */
+    public void run() throws IOException {
+        // Load the dictionaries and build the index before the first player connects
+        wordService.preloadAll();
+        startStatsLogger();
+        leaderboards.startSnapshots(SNAPSHOT_DIR, SNAPSHOT_INTERVAL_SECONDS);
+        MetricsDumper.startFromSystemProperties();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            leaderboards.stopSnapshots(SNAPSHOT_DIR);
+            MetricsDumper.stop();
+            GameRecorder.closeAll();
+        }));
+
+        try (ServerSocket server = new ServerSocket(port, BACKLOG)) {
+            System.out.println("INFO: Hangman server listening on port " + port);
+            while (true) {
+                Socket socket = server.accept();
+                Thread.ofVirtual().name("client-" + sessionsServed.incrementAndGet()).start(() -> serve(socket));
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        connected.incrementAndGet();
+        GameSession session = null;
+        ServerSession player = null;
+        try (socket) {
+            try {
+                session = sessions.open();
+            } catch (IllegalStateException full) {
+                // ERROR HANDLING: tell the client why it is disconnected instead of just closing
+                OutputStream out = socket.getOutputStream();
+                out.write(("ERR " + full.getMessage() + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                return;
+            }
+            player = new ServerSession(wordService, leaderboards, session);
+            player.run(socket);
+        } catch (IOException e) {
+            // ERROR HANDLING: a dropped or timed-out client only ends its own session
+            System.err.println("ERROR: Session ended: " + e.getMessage());
+            Metrics.error("server");
+        } finally {
+            if (player != null) player.finish(); // Also for dropped connections: the rounds were played
+            if (session != null) sessions.close(session.getId());
+            connected.decrementAndGet();
+        }
+    }
+
+    private void startStatsLogger() {
+        Thread.ofVirtual().name("server-stats").start(() -> {
+            while (true) {
+                try {
+                    Thread.sleep(STATS_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int evicted = sessions.evictIdle();
+                System.out.println("INFO: " + connected.get() + " players connected, " + sessions.size() + " open sessions ("
+                        + evicted + " evicted as idle), " + sessionsServed.get() + " sessions so far");
+            }
+        });
+    }
+}
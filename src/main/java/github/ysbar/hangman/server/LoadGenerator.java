@@ -0,0 +1,113 @@
+package github.ysbar.hangman.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * Load-test client for HangmanServer. Opens N connections at once (one virtual thread each),
+ * waits until all of them are connected, then lets every client play its rounds by guessing
+ * letters in frequency order. Reports throughput and request latency percentiles.
+ *
+ * Usage: LoadGenerator [--host=localhost] [--port=7777] [--clients=10000] [--rounds=5] [--difficulty=Medium]
+ * Note: 10k+ connections need a raised open-file limit on both sides (e.g. "ulimit -n 65536").
+ */
+
+public class LoadGenerator {
+
+    private static final String GUESS_ORDER = "ETAOINSHRDLCUMWFGYPBVKJXQZ";
+    private static final int LATENCY_SAMPLES_PER_CLIENT = 256; // Bounded memory for the percentile report
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                System.err.println("ERROR: Ignoring argument (expected --name=value): " + arg);
+            }
+        }
+        String host = options.getOrDefault("host", "localhost");
+        int port = Integer.parseInt(options.getOrDefault("port", Integer.toString(HangmanServer.DEFAULT_PORT)));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "10000"));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "5"));
+        String difficulty = options.getOrDefault("difficulty", "Medium");
+
+        CountDownLatch connected = new CountDownLatch(clients);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicLong requests = new AtomicLong();
+        AtomicLong wins = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        long[][] latencies = new long[clients][];
+
+        Thread[] threads = new Thread[clients];
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            threads[c] = Thread.ofVirtual().start(() -> {
+                long[] samples = new long[LATENCY_SAMPLES_PER_CLIENT];
+                int sampled = 0;
+                boolean counted = false;
+                try (Socket socket = new Socket(host, port)) {
+                    socket.setTcpNoDelay(true);
+                    BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+                    in.readLine(); // HELLO
+                    connected.countDown();
+                    counted = true;
+                    go.await();
+
+                    for (int round = 0; round < rounds; round++) {
+                        String reply = "";
+                        for (int i = 0; i <= GUESS_ORDER.length() && !reply.contains(" WON ") && !reply.contains(" LOST "); i++) {
+                            String request = (i == 0) ? "NEW " + difficulty : "GUESS " + GUESS_ORDER.charAt(i - 1);
+                            long start = System.nanoTime();
+                            out.write(request + "\n");
+                            out.flush();
+                            reply = in.readLine();
+                            if (reply == null || reply.startsWith("ERR")) throw new IOException("Unexpected reply: " + reply);
+                            if (sampled < samples.length) samples[sampled++] = System.nanoTime() - start;
+                            requests.incrementAndGet();
+                        }
+                        if (reply.contains(" WON ")) wins.incrementAndGet();
+                    }
+                    out.write("QUIT\n");
+                    out.flush();
+                    in.readLine();
+                } catch (IOException | InterruptedException e) {
+                    failures.incrementAndGet();
+                    if (failures.get() <= 5) System.err.println("ERROR: Client " + client + ": " + e.getMessage());
+                } finally {
+                    if (!counted) connected.countDown();
+                    latencies[client] = Arrays.copyOf(samples, sampled);
+                }
+            });
+        }
+
+        connected.await();
+        System.out.printf("Connected %,d clients (%,d failed), starting %d rounds each%n", clients, failures.get(), rounds);
+        long start = System.nanoTime();
+        go.countDown();
+        for (Thread thread : threads) thread.join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("Requests: %,d in %.1f s (%,.0f req/s), rounds won: %,d, failed clients: %,d%n",
+                requests.get(), seconds, requests.get() / seconds, wins.get(), failures.get());
+        if (all.length > 0) {
+            System.out.printf("Latency: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                    all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6, all[all.length - 1] / 1e6);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package github.ysbar.hangman.server;
+
+import github.ysbar.hangman.engine.GameStatus;
+import github.ysbar.hangman.engine.GuessResult;
+import github.ysbar.hangman.engine.HangmanGame;
+import github.ysbar.hangman.metrics.HangmanEvents;
+import github.ysbar.hangman.metrics.LatencyHistogram;
+import github.ysbar.hangman.metrics.Metrics;
+import github.ysbar.hangman.model.GameSession;
+import github.ysbar.hangman.model.SessionConfig;
+import github.ysbar.hangman.replay.GameRecorder;
+import github.ysbar.hangman.service.ConcurrentLeaderboard;
+import github.ysbar.hangman.service.DifficultyPreset;
+import github.ysbar.hangman.service.Leaderboards;
+import github.ysbar.hangman.service.ScoreRecord;
+import github.ysbar.hangman.service.WordScheduler;
+import github.ysbar.hangman.service.WordService;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY:
+ * One connected player: the server-side counterpart of GameController, playing the player's
+ * GameSession (settings, total score, words guessed) from the SessionRegistry. Confined to the
+ * connection's thread, so nothing here is shared.
+ *
+ * PROTOCOL (UTF-8 text, one line per request and one line per reply):
+ *   server greets        HELLO hangman 1 <alphabet tag, e.g. en>
+ *   NEW [difficulty] [attempts]  -> ROUND <mask> <lives>   (difficulty Easy, Medium or Hard, any case)
+ *   GUESS <letter>               -> HIT|MISS|REPEATED <mask> <lives> <PLAYING|WON|LOST> <totalScore>
+ *   HINT                         -> HINT <letter> <mask> <lives> <status> <totalScore>
+ *   SCORE                        -> SCORE <totalScore> <wordsGuessed> <rounds>
+ *   RANK                         -> RANK <rank of totalScore> <sessions on the leaderboard>
+ *   TOP [difficulty]             -> TOP <score>,<score>,... (global or per-difficulty leaderboard)
+ *   QUIT                         -> BYE <totalScore>
+ *   anything else                -> ERR <reason>
+ * <mask> shows hidden letters as '_' and spaces as '+'; once the round is over it is the whole word.
+ * Letters are those of the server's alphabet (-Dhangman.locale); GUESS takes any case and folds accents.
+ * Every round is recorded to the replay log REPLAY_LOG (see the replay package).
+ * Words come from the player's own no-repeat decks. Players are anonymous (a new connection is a new
+ * player), so the decks live as long as the connection and are not saved.
+ */
+
+class ServerSession {
+
+    static final int IDLE_TIMEOUT_MILLIS = 5 * 60 * 1000; // Drop clients that stay silent this long
+    static final Path REPLAY_LOG = Path.of("server-games.hlog");
+    private static final LatencyHistogram GUESS_TIME = Metrics.histogram("guess.server");   // Engine + scoring, without I/O
+    private static final LatencyHistogram REQUEST_TIME = Metrics.histogram("server.request"); // Whole request incl. reply
+
+    private final WordService wordService;
+    private final Leaderboards leaderboards;
+    private final GameSession session;
+    private final GameRecorder recorder = new GameRecorder(REPLAY_LOG);
+    private final HangmanGame game = new HangmanGame("A", SessionConfig.DEFAULT.attempts(), new SplittableRandom());
+    private WordScheduler decks; // Created with the first round
+    private boolean roundStarted;
+    private long roundStartMillis;
+
+    ServerSession(WordService wordService, Leaderboards leaderboards, GameSession session) {
+        this.wordService = wordService;
+        this.leaderboards = leaderboards;
+        this.session = session;
+    }
+
+    /**
+     * Puts the finished session on the leaderboards (if any round was played). Called once the connection ends.
+     */
+    void finish() {
+        if (session.getRoundsPlayed() == 0) return;
+        SessionConfig config = session.getConfig();
+        leaderboards.submit(new ScoreRecord(session.getTotalScore(), session.getWordsGuessed(), config.difficulty(),
+                config.attempts(), session.getSessionMillis(), System.currentTimeMillis()));
+    }
+
+    /**
+     * Serves the player until QUIT, disconnect or idle timeout.
+     */
+    void run(Socket socket) throws IOException {
+        socket.setSoTimeout(IDLE_TIMEOUT_MILLIS);
+        socket.setTcpNoDelay(true); // Replies are tiny and the client waits for each one
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        reply(out, "HELLO hangman 1 " + game.getAlphabet().tag());
+
+        String line;
+        while ((line = in.readLine()) != null) {
+            String[] parts = line.trim().split("\\s+");
+            String command = parts[0].toUpperCase();
+            long start = System.nanoTime();
+            session.touch();
+            if (command.equals("QUIT")) {
+                reply(out, "BYE " + session.getTotalScore());
+                return;
+            }
+            reply(out, handle(command, parts));
+            REQUEST_TIME.recordSince(start);
+        }
+    }
+
+    private String handle(String command, String[] parts) {
+        switch (command) {
+            case "NEW":
+                return newRound(parts);
+            case "GUESS":
+                if (parts.length < 2 || parts[1].length() != 1) return "ERR usage: GUESS <letter>";
+                int index = game.getAlphabet().indexOfInput(parts[1].charAt(0));
+                return (index >= 0) ? guess(game.getAlphabet().letterAt(index)) : "ERR not a letter";
+            case "HINT":
+                return hint();
+            case "SCORE":
+                return "SCORE " + session.getTotalScore() + " " + session.getWordsGuessed() + " " + session.getRoundsPlayed();
+            case "RANK":
+                ConcurrentLeaderboard global = leaderboards.global();
+                return "RANK " + global.rank(session.getTotalScore()) + " " + global.size();
+            case "TOP":
+                ConcurrentLeaderboard board = (parts.length >= 2) ? leaderboards.board(parts[1]) : leaderboards.global();
+                return "TOP " + board.top().stream().map(r -> Integer.toString(r.score())).collect(Collectors.joining(","));
+            default:
+                return "ERR unknown command";
+        }
+    }
+
+    private String newRound(String[] parts) {
+        // Omitted settings keep the session's current ones
+        SessionConfig config = session.getConfig();
+        String difficulty = config.difficulty();
+        if (parts.length >= 2) {
+            // Clients may send any case ("hard"), but Scoring and the leaderboards match the exact label
+            DifficultyPreset preset = DifficultyPreset.fromLabel(parts[1]);
+            // ERROR HANDLING: fromLabel falls back to Medium; a typo must not be played (and scored) as Medium
+            if (!preset.label().equalsIgnoreCase(parts[1])) return "ERR unknown difficulty, use Easy, Medium or Hard";
+            difficulty = preset.label();
+        }
+        try {
+            int attempts = (parts.length >= 3) ? Integer.parseInt(parts[2]) : config.attempts();
+            config = new SessionConfig(difficulty, attempts, config.smartHints());
+        } catch (NumberFormatException e) {
+            return "ERR usage: NEW [difficulty] [attempts]";
+        } catch (IllegalArgumentException e) {
+            return "ERR " + e.getMessage();
+        }
+        session.configure(config);
+
+        if (decks == null) decks = wordService.newScheduler(null);
+        game.start(wordService.getRandomWord(config.difficulty(), decks), config.attempts());
+        roundStarted = true;
+        roundStartMillis = System.currentTimeMillis();
+        recorder.startRound(game, config.difficulty());
+        return "ROUND " + mask() + " " + game.getRemainingAttempts();
+    }
+
+    private String guess(char letter) {
+        if (!roundStarted) return "ERR no round, send NEW";
+        if (game.getStatus() != GameStatus.PLAYING) return "ERR round is over, send NEW";
+
+        HangmanEvents.Guess event = new HangmanEvents.Guess();
+        event.begin();
+        long start = System.nanoTime();
+
+        recorder.guess(letter);
+        GuessResult result = game.guess(letter);
+        String reply = (result == GuessResult.IGNORED) ? "ERR not a letter" : result.name() + " " + state();
+
+        GUESS_TIME.recordSince(start);
+        event.letter = letter;
+        event.result = result.name();
+        event.commit();
+        return reply;
+    }
+
+    private String hint() {
+        if (!roundStarted || game.getStatus() != GameStatus.PLAYING) return "ERR no round, send NEW";
+        recorder.randomHint();
+        char letter = game.hint();
+        if (letter == 0) return "ERR not enough lives for a hint";
+        return "HINT " + letter + " " + state();
+    }
+
+    // "<mask> <lives> <status> <totalScore>", scoring the round once it is over
+    private String state() {
+        GameStatus status = game.getStatus();
+        if (status != GameStatus.PLAYING && roundStarted) {
+            roundStarted = false; // Score each round once
+            int score = session.recordRound(status == GameStatus.WON, game.getRemainingAttempts(), System.currentTimeMillis() - roundStartMillis);
+            recorder.finishRound(score);
+        }
+        return mask() + " " + game.getRemainingAttempts() + " " + status + " " + session.getTotalScore();
+    }
+
+    private String mask() {
+        boolean over = game.getStatus() != GameStatus.PLAYING;
+        char[] chars = new char[game.length()];
+        for (int i = 0; i < chars.length; i++) {
+            char c = over ? game.getSecretWord().charAt(i) : game.revealedAt(i);
+            chars[i] = (c == ' ') ? '+' : c;
+        }
+        return new String(chars);
+    }
+
+    private static void reply(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+    }
+}
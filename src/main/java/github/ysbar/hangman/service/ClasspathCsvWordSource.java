@@ -0,0 +1,64 @@
+package github.ysbar.hangman.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: Streams the CSV word lists bundled inside the application.
+ * This is the lowest-priority source and is always available.
+ */
+
+public class ClasspathCsvWordSource implements WordSource {
+
+    private static final String BASE_PATH = "/github/ysbar/hangman/";
+
+    @Override
+    public String name() {
+        return "classpath CSV";
+    }
+
+    @Override
+    public int priority() {
+        return 0;
+    }
+
+    @Override
+    public boolean supports(String difficulty) {
+        String filename = WordSource.baseName(difficulty) + ".csv";
+        return getClass().getResource(BASE_PATH + filename) != null || getClass().getResource("/" + filename) != null;
+    }
+
+    @Override
+    public Stream<String> openWords(String difficulty) throws IOException {
+        String filename = WordSource.baseName(difficulty) + ".csv";
+        InputStream is = getClass().getResourceAsStream(BASE_PATH + filename);
+
+        // Fallback: try root path if package path fails
+        if (is == null) is = getClass().getResourceAsStream("/" + filename);
+
+        // ERROR HANDLING: File not found
+        if (is == null) throw new IOException("Dictionary file not found: " + filename);
+
+        return linesOf(is);
+    }
+
+    /**
+     * Wraps a raw stream as lazy UTF-8 lines that close the stream when the Stream is closed.
+     */
+    static Stream<String> linesOf(InputStream is) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+        return reader.lines().onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package github.ysbar.hangman.service;
+
+import java.util.List;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Presents several word lists as one, without copying any words.
+ * Word ids run through the first list, then the second, and so on.
+ */
+
+final class CompositeWordList implements WordList {
+
+    private final WordList[] parts;
+    private final int[] starts; // First combined id of each part, plus the total size
+
+    CompositeWordList(List<WordList> lists) {
+        this.parts = lists.toArray(new WordList[0]);
+        this.starts = new int[parts.length + 1];
+        for (int i = 0; i < parts.length; i++) {
+            starts[i + 1] = starts[i] + parts[i].size();
+        }
+    }
+
+    @Override
+    public int size() {
+        return starts[parts.length];
+    }
+
+    @Override
+    public String wordAt(int index) {
+        int part = partOf(index);
+        return parts[part].wordAt(index - starts[part]);
+    }
+
+    @Override
+    public int lengthAt(int index) {
+        int part = partOf(index);
+        return parts[part].lengthAt(index - starts[part]);
+    }
+
+    // There are only a handful of parts, so a linear scan beats a binary search
+    private int partOf(int index) {
+        int part = 0;
+        while (index >= starts[part + 1]) part++;
+        return part;
+    }
+}
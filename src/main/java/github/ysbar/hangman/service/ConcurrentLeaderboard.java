@@ -0,0 +1,173 @@
+package github.ysbar.hangman.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Top-N list and rank queries for sessions finishing on many threads at once (e.g. the server's
+ * players). Every method is lock-free and safe to call from any thread.
+ *
+ * TOP-N:
+ * A ConcurrentSkipListSet ordered best first, never longer than the capacity for long. Once it is
+ * full, a score below the current threshold (the lowest score that was pushed out) is rejected with
+ * one volatile read, so the common case of an ordinary score touches no shared structure except the
+ * rank tree. Equal scores are ordered by submission, so the earlier session keeps its place.
+ *
+ * RANK:
+ * A Fenwick tree over score buckets (BUCKET_SIZE points each) in an AtomicLongArray: a submission adds
+ * 1 to O(log n) counters, rank(score) sums O(log n) counters. Session scores are multiples of
+ * Scoring.POINTS_PER_ATTEMPT, so with BUCKET_SIZE = 1000 ranks are exact; scores above the last
+ * bucket share it. While submissions are in flight a rank may not include them yet.
+ */
+
+public class ConcurrentLeaderboard {
+
+    public static final int BUCKET_SIZE = 1000;
+    public static final int BUCKETS = 1 << 16; // Scores up to 65 million are ranked exactly
+
+    // A submitted record; seq makes every entry unique and orders equal scores by arrival
+    private record Entry(ScoreRecord record, long seq) {}
+
+    private static final Comparator<Entry> BEST_FIRST = Comparator
+            .comparingInt((Entry e) -> e.record().score()).reversed()
+            .thenComparingLong(Entry::seq);
+
+    private final int capacity;
+    private final NavigableSet<Entry> top = new ConcurrentSkipListSet<>(BEST_FIRST);
+    private final AtomicInteger topSize = new AtomicInteger();        // Exact, unlike the set's O(n) size()
+    private final AtomicInteger threshold = new AtomicInteger(Integer.MIN_VALUE); // Only ever rises
+    private final AtomicLong seq = new AtomicLong();
+
+    // Fenwick tree, 1-based: tree[i] counts the scores of buckets (i - lowbit(i), i]
+    private final AtomicLongArray tree = new AtomicLongArray(BUCKETS + 1);
+    private final AtomicLong submitted = new AtomicLong();
+
+    public ConcurrentLeaderboard(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds a finished session.
+     * @return true if it is (for now) on the top-N list.
+     */
+    public boolean submit(ScoreRecord record) {
+        long order = seq.getAndIncrement();
+        addToRank(bucket(record.score()), 1);
+        submitted.incrementAndGet();
+
+        // Fast path: the list is full and this score is lower than one that was already pushed out
+        if (record.score() < threshold.get()) return false;
+
+        Entry entry = new Entry(record, order);
+        top.add(entry);
+        if (topSize.incrementAndGet() <= capacity) return true;
+
+        // Over capacity: drop the lowest entry. At least `capacity` better entries are in the set,
+        // so whatever is removed (possibly the new one) can never belong on the list again.
+        Entry removed = top.pollLast();
+        if (removed == null) return true; // Unreachable while topSize > capacity, kept for safety
+        topSize.decrementAndGet();
+        raiseThreshold(removed.record().score());
+        return removed != entry;
+    }
+
+    /**
+     * @return The best sessions, best first (at most the capacity).
+     */
+    public List<ScoreRecord> top() {
+        List<ScoreRecord> result = new ArrayList<>(capacity);
+        for (Entry entry : top) {
+            if (result.size() == capacity) break; // A concurrent submit may briefly hold one more
+            result.add(entry.record());
+        }
+        return result;
+    }
+
+    /**
+     * @return 1 + the number of submitted sessions with a higher score (1 = best so far).
+     */
+    public long rank(int score) {
+        int bucket = bucket(score);
+        return 1 + submitted.get() - prefixCount(bucket);
+    }
+
+    /**
+     * @return Number of sessions submitted so far.
+     */
+    public long size() {
+        return submitted.get();
+    }
+
+    /**
+     * @return Sessions per score bucket (index = score / BUCKET_SIZE), e.g. for snapshots.
+     */
+    public long[] bucketCounts() {
+        long[] nodes = new long[BUCKETS + 1];
+        for (int i = 1; i <= BUCKETS; i++) nodes[i] = tree.get(i);
+        // Undo the tree in O(n): subtract every node from its parent, top-down
+        for (int i = BUCKETS; i > 0; i--) {
+            int parent = i + (i & -i);
+            if (parent <= BUCKETS) nodes[parent] -= nodes[i];
+        }
+        long[] counts = new long[BUCKETS];
+        System.arraycopy(nodes, 1, counts, 0, BUCKETS);
+        return counts;
+    }
+
+    /**
+     * Restores counts from a snapshot: adds `count` sessions to a bucket without top-N entries.
+     */
+    public void addToBucket(int bucket, long count) {
+        if (bucket < 0 || bucket >= BUCKETS || count <= 0) return;
+        addToRank(bucket, count);
+        submitted.addAndGet(count);
+    }
+
+    /**
+     * Restores a top-N entry from a snapshot, without counting it for ranks again.
+     */
+    public void restoreTop(ScoreRecord record) {
+        top.add(new Entry(record, seq.getAndIncrement()));
+        if (topSize.incrementAndGet() > capacity && top.pollLast() != null) {
+            topSize.decrementAndGet();
+        }
+    }
+
+    public static int bucket(int score) {
+        return Math.max(0, Math.min(score / BUCKET_SIZE, BUCKETS - 1));
+    }
+
+    // --- FENWICK TREE ---
+
+    private void addToRank(int bucket, long delta) {
+        for (int i = bucket + 1; i <= BUCKETS; i += i & -i) {
+            tree.getAndAdd(i, delta);
+        }
+    }
+
+    // Sessions in buckets 0..bucket
+    private long prefixCount(int bucket) {
+        long sum = 0;
+        for (int i = bucket + 1; i > 0; i -= i & -i) {
+            sum += tree.get(i);
+        }
+        return sum;
+    }
+
+    // CAS loop: the threshold only moves up, whichever thread evicts last
+    private void raiseThreshold(int score) {
+        int current;
+        while ((current = threshold.get()) < score) {
+            if (threshold.compareAndSet(current, score)) return;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package github.ysbar.hangman.service;
+
+import github.ysbar.hangman.engine.HangmanGame;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * The daily challenge: one word per difficulty per day (UTC), the same for every player who has the
+ * same word list, and this installation's history of daily results.
+ *
+ * DAY -> WORD:
+ * The days of a list's cycle (n days for n words) are mapped to word positions by a keyed Feistel
+ * permutation over [0, n) (cycle-walking on the next power of four). A permutation never maps two days
+ * to the same word, so no word repeats until the whole list was the daily word; each cycle has its own
+ * key, so the next one comes in a different order. A day costs a few multiplications and one direct
+ * wordAt() on the difficulty's list (a memory-mapped word pack is not read beyond that word).
+ * Positions follow the word pack order (words stably sorted by length), so a list loaded from its CSV
+ * picks the same words as its compiled pack.
+ *
+ * SCHEDULE CACHE:
+ * precompute() maps the next SCHEDULE_DAYS days of every difficulty up front (splash screen), so the
+ * daily round starts with a plain array lookup.
+ *
+ * RESULTS:
+ * Every finished daily round goes through HighscoreService into two ledgers: one of its own per day
+ * and difficulty (DIRECTORY/<date>-<difficulty>.ledger) and the history of the difficulty across days
+ * (DIRECTORY/history-<difficulty>.ledger, read by history()). A day and difficulty is played once:
+ * a non-empty day ledger means it was played, isPlayed() lets the menu refuse a second attempt and
+ * recordResult() never adds a second result (after a loss the player knows the word).
+ */
+
+public class DailyChallenge {
+
+    public static final int ATTEMPTS = 6;        // Same lives for everyone, so daily scores compare
+    public static final boolean SMART_HINTS = false; // Seeded random hints: the same hint letters for everyone
+    public static final int SCHEDULE_DAYS = 30;
+    static final String DIRECTORY = "daily";
+    private static final String[] DIFFICULTIES = { "Easy", "Medium", "Hard" };
+    private static final long SEED = 0x48414E474D414E21L; // "HANGMAN!", shared by every installation
+    private static final int ROUNDS = 4;
+
+    // Precomputed word positions of the days [firstDay, firstDay + positions.length) of one list
+    private record Schedule(WordList list, long firstDay, int[] positions) {}
+
+    // Shared by every instance, keyed by word list base name ("easy", "medium", "hard")
+    private static final Map<String, Schedule> SCHEDULES = new ConcurrentHashMap<>();
+    private static final Map<WordList, int[]> PACK_ORDER = new ConcurrentHashMap<>(); // In-memory lists only
+
+    private final WordService wordService;
+
+    public DailyChallenge(WordService wordService) {
+        this.wordService = wordService;
+    }
+
+    /**
+     * @return Today as a day number (days since 1970-01-01, UTC), the same everywhere in the world.
+     */
+    public static long today() {
+        return LocalDate.now(ZoneOffset.UTC).toEpochDay();
+    }
+
+    /**
+     * @return The daily word of the difficulty on the day.
+     */
+    public String wordFor(String difficulty, long day) {
+        String base = WordSource.baseName(difficulty);
+        WordList list = wordService.getDictionary(difficulty);
+
+        // ERROR HANDLING: no list: the same fallback word for everyone
+        if (list == null || list.isEmpty()) return "DEVELOPER";
+
+        Schedule schedule = SCHEDULES.get(base);
+        if (schedule != null && schedule.list() == list && day >= schedule.firstDay()
+                && day < schedule.firstDay() + schedule.positions().length) {
+            return list.wordAt(schedule.positions()[(int) (day - schedule.firstDay())]);
+        }
+        return list.wordAt(position(list, base, day));
+    }
+
+    /**
+     * @return Seed of the day's round, so random hints reveal the same positions for every player.
+     */
+    public long seedFor(String difficulty, long day) {
+        return mix(key(WordSource.baseName(difficulty), day) ^ day);
+    }
+
+    /**
+     * Maps the next `days` days of every difficulty (loads the lists if needed, so call it off the JavaFX thread).
+     */
+    public void precompute(int days) {
+        long first = today();
+        for (String difficulty : DIFFICULTIES) {
+            WordList list = wordService.getDictionary(difficulty);
+            if (list == null || list.isEmpty()) continue;
+            String base = WordSource.baseName(difficulty);
+            int[] positions = new int[days];
+            for (int i = 0; i < days; i++) positions[i] = position(list, base, first + i);
+            SCHEDULES.put(base, new Schedule(list, first, positions));
+        }
+    }
+
+    // --- RESULTS ---
+
+    /**
+     * @return Future of true if the day's challenge of the difficulty was already played (read on the writer thread).
+     */
+    public static CompletableFuture<Boolean> isPlayed(long day, String difficulty) {
+        return dayLedger(day, difficulty).getLeaderboardAsync().thenApply(top -> !top.isEmpty());
+    }
+
+    /**
+     * This installation's results of one difficulty across days.
+     * @param daysPlayed Days with a result.
+     * @param best       The best results, best first (at most HighscoreService.LEADERBOARD_SIZE).
+     */
+    public record History(long daysPlayed, List<ScoreRecord> best) {}
+
+    /**
+     * Queues a finished daily round for the day and the history, unless the day already has a result.
+     * @return Future completed once it is on disk (or skipped).
+     */
+    public static CompletableFuture<Void> recordResult(long day, String difficulty, int score, boolean won, int attempts, long durationMillis) {
+        HighscoreService board = dayLedger(day, difficulty);
+        // The check runs on the writer thread, so it sees every result queued before it
+        return board.getLeaderboardAsync().thenCompose(top -> {
+            if (!top.isEmpty()) {
+                System.err.println("ERROR: Daily challenge " + LocalDate.ofEpochDay(day) + " (" + difficulty + ") was already played, result not recorded.");
+                return CompletableFuture.completedFuture(null);
+            }
+            // Queued together, so the writer appends both in the same drain
+            return CompletableFuture.allOf(
+                    board.recordSession(score, won ? 1 : 0, difficulty, attempts, durationMillis),
+                    historyLedger(difficulty).recordSession(score, won ? 1 : 0, difficulty, attempts, durationMillis));
+        });
+    }
+
+    /**
+     * @return Future of the difficulty's results across days (read on the writer thread, after every queued result).
+     */
+    public static CompletableFuture<History> history(String difficulty) {
+        HighscoreService ledger = historyLedger(difficulty);
+        return ledger.countSessionsAsync().thenCombine(ledger.getLeaderboardAsync(), History::new);
+    }
+
+    private static HighscoreService dayLedger(long day, String difficulty) {
+        Path file = Path.of(DIRECTORY, LocalDate.ofEpochDay(day) + "-" + WordSource.baseName(difficulty) + ".ledger");
+        return new HighscoreService(file.toFile());
+    }
+
+    private static HighscoreService historyLedger(String difficulty) {
+        return new HighscoreService(Path.of(DIRECTORY, "history-" + WordSource.baseName(difficulty) + ".ledger").toFile());
+    }
+
+    // --- DAY -> POSITION ---
+
+    // Word position (in word pack order) of the day
+    static int position(WordList list, String base, long day) {
+        int size = list.size();
+        long cycle = Math.floorDiv(day, size);
+        int index = permute(Math.floorMod(day, size), size, key(base, cycle));
+        int[] order = packOrder(list);
+        return (order != null) ? order[index] : index;
+    }
+
+    // Key of one list's cycle: the same on every machine (String.hashCode is specified)
+    private static long key(String base, long cycle) {
+        return mix(SEED ^ (base.hashCode() * 0x9E3779B97F4A7C15L) ^ (cycle * 0xC2B2AE3D27D4EB4FL));
+    }
+
+    /**
+     * Keyed permutation of [0, size): a balanced Feistel network on the smallest 2^(2h) >= size,
+     * repeated while the result is outside the range (cycle-walking, under 4 steps on average).
+     */
+    static int permute(int index, int size, long key) {
+        int bits = Math.max(2, 32 - Integer.numberOfLeadingZeros(size - 1));
+        int half = (bits + 1) / 2;
+        long mask = (1L << half) - 1;
+
+        long x = index;
+        do {
+            long left = x >>> half, right = x & mask;
+            for (int round = 0; round < ROUNDS; round++) {
+                long next = left ^ (mix(right ^ key ^ (round * 0x9E3779B97F4A7C15L)) & mask);
+                left = right;
+                right = next;
+            }
+            x = (left << half) | right;
+        } while (x >= size);
+        return (int) x;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Word pack order for an in-memory list: ids stably sorted by length (counting sort, once per list).
+    // A WordPack is stored in that order already.
+    private static int[] packOrder(WordList list) {
+        if (list instanceof WordPack) return null;
+        return PACK_ORDER.computeIfAbsent(list, l -> {
+            int[] starts = new int[HangmanGame.MAX_LENGTH + 2];
+            for (int id = 0; id < l.size(); id++) starts[l.lengthAt(id) + 1]++;
+            for (int length = 1; length < starts.length; length++) starts[length] += starts[length - 1];
+            int[] order = new int[l.size()];
+            for (int id = 0; id < l.size(); id++) order[starts[l.lengthAt(id)]++] = id;
+            return order;
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package github.ysbar.hangman.service;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Defines the word difficulties offered in the Configuration screen as WordIndex queries
+ * over the whole dictionary, instead of tying each difficulty to one word file.
+ */
+
+public enum DifficultyPreset {
+
+    // Short words made of common letters
+    EASY("Easy", WordQuery.any().withLength(3, 6).withRarity(0, 600)),
+
+    // Medium length with a few different letters to find
+    MEDIUM("Medium", WordQuery.any().withLength(5, 9).withMinDistinct(4)),
+
+    // Long words with many different and less common letters
+    HARD("Hard", WordQuery.any().withLength(7, 15).withMinDistinct(6).withRarity(450, WordQuery.MAX_RARITY));
+
+    private final String label;
+    private final WordQuery query;
+
+    DifficultyPreset(String label, WordQuery query) {
+        this.label = label;
+        this.query = query;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public WordQuery query() {
+        return query;
+    }
+
+    /**
+     * Maps the label stored in SessionConfig.difficulty to its preset. Unknown labels use MEDIUM, as before.
+     */
+    public static DifficultyPreset fromLabel(String label) {
+        for (DifficultyPreset preset : values()) {
+            if (preset.label.equalsIgnoreCase(label)) return preset;
+        }
+        return MEDIUM;
+    }
+}
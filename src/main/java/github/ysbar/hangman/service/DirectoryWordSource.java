@@ -0,0 +1,71 @@
+package github.ysbar.hangman.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: Streams plain-text word lists ("easy.csv", "hard.txt", ...) from an
+ * external directory given by -Dhangman.words.dir, so deployments can swap dictionaries
+ * without rebuilding the application.
+ */
+
+public class DirectoryWordSource implements WordSource {
+
+    static final String DIR_PROPERTY = "hangman.words.dir";
+    private static final String[] EXTENSIONS = { ".csv", ".txt" };
+
+    @Override
+    public String name() {
+        return "directory";
+    }
+
+    @Override
+    public int priority() {
+        return 10;
+    }
+
+    @Override
+    public boolean supports(String difficulty) {
+        return findFile(difficulty) != null;
+    }
+
+    @Override
+    public Stream<String> openWords(String difficulty) throws IOException {
+        Path file = findFile(difficulty);
+        if (file == null) throw new IOException("No word list for " + difficulty + " in " + directory());
+        return Files.lines(file, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public long sizeHint(String difficulty) {
+        Path file = findFile(difficulty);
+        try {
+            return (file != null) ? Files.size(file) : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return The configured directory, or null if the property is not set.
+     */
+    static Path directory() {
+        String dir = System.getProperty(DIR_PROPERTY);
+        return (dir == null || dir.isBlank()) ? null : Path.of(dir);
+    }
+
+    // First existing "<base><extension>" file in the configured directory
+    private static Path findFile(String difficulty) {
+        Path dir = directory();
+        if (dir == null) return null;
+        for (String extension : EXTENSIONS) {
+            Path file = dir.resolve(WordSource.baseName(difficulty) + extension);
+            if (Files.isRegularFile(file)) return file;
+        }
+        return null;
+    }
+}
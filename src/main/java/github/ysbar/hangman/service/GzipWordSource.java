@@ -0,0 +1,64 @@
+package github.ysbar.hangman.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: Streams gzip-compressed word lists ("easy.csv.gz", "hard.txt.gz", ...)
+ * from the -Dhangman.words.dir directory. Decompression happens incrementally while reading.
+ */
+
+public class GzipWordSource implements WordSource {
+
+    private static final String[] EXTENSIONS = { ".csv.gz", ".txt.gz" };
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public String name() {
+        return "gzip";
+    }
+
+    @Override
+    public int priority() {
+        return 20;
+    }
+
+    @Override
+    public boolean supports(String difficulty) {
+        return findFile(difficulty) != null;
+    }
+
+    @Override
+    public Stream<String> openWords(String difficulty) throws IOException {
+        Path file = findFile(difficulty);
+        if (file == null) throw new IOException("No gzip word list for " + difficulty);
+        return ClasspathCsvWordSource.linesOf(
+                new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE), BUFFER_SIZE));
+    }
+
+    @Override
+    public long sizeHint(String difficulty) {
+        Path file = findFile(difficulty);
+        try {
+            // Compressed size; plain word lists usually shrink about 3-4x
+            return (file != null) ? Files.size(file) * 4 : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static Path findFile(String difficulty) {
+        Path dir = DirectoryWordSource.directory();
+        if (dir == null) return null;
+        for (String extension : EXTENSIONS) {
+            Path file = dir.resolve(WordSource.baseName(difficulty) + extension);
+            if (Files.isRegularFile(file)) return file;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,318 @@
+package github.ysbar.hangman.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.zip.CRC32;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Append-only binary history of every finished session, plus an in-memory top-K leaderboard.
+ *
+ * FILE FORMAT:
+ *   header:  int MAGIC, int VERSION
+ *   records: RECORD_SIZE bytes each (big-endian)
+ *            int score, int words, byte difficulty (DifficultyPreset ordinal), byte attempts, short reserved,
+ *            long durationMillis, long finishedAt, int CRC32 of the 28 bytes before it
+ *
+ * The file is read once when the ledger is opened; after that a result is one append and the
+ * leaderboard lives in a bounded min-heap (the lowest of the top K on top, so a new score is
+ * compared once and the heap never grows past K). Appended records reach the device (fsync)
+ * on sync(), which HighscoreService calls once per batch of queued results, and on close().
+ *
+ * SEVERAL APP INSTANCES:
+ * Every append holds an exclusive FileChannel lock on the ledger. Under the lock, records that
+ * another instance appended since our last look are read into the leaderboard first and the new
+ * records go after them, so no instance overwrites (or misses) another one's best score.
+ * A new ledger is created exclusively (CREATE_NEW), so an existing one is never replaced, and filled
+ * while holding the exclusive lock. An instance that locks the file before its creator finds it
+ * empty and writes the header itself; the creator then appends its records after it.
+ *
+ * ERROR HANDLING:
+ * A crash can leave a partly written last record. Reading stops at the first short or corrupt
+ * record and (while holding the exclusive lock, so nobody is still writing it) the file is
+ * truncated back to the last good one, so the next append starts clean.
+ */
+
+public final class HighscoreLedger implements AutoCloseable {
+
+    static final int MAGIC = 0x48534C47;   // "HSLG"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_SIZE = 32;
+    private static final int PAYLOAD_SIZE = RECORD_SIZE - Integer.BYTES;
+
+    private static final Comparator<ScoreRecord> BY_SCORE =
+            Comparator.comparingInt(ScoreRecord::score).thenComparingLong(ScoreRecord::finishedAt);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int capacity;
+    private final PriorityQueue<ScoreRecord> top; // Min-heap of the best 'capacity' records
+    private final ByteBuffer chunk = ByteBuffer.allocate(RECORD_SIZE * 1024);
+    private final CRC32 crc = new CRC32();
+    private long end;                            // End of the last record read or written
+    private long recordCount;
+    private boolean unsynced;
+
+    private HighscoreLedger(Path file, FileChannel channel, int capacity) {
+        this.file = file;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.top = new PriorityQueue<>(capacity + 1, BY_SCORE);
+    }
+
+    /**
+     * Creates a ledger holding the given records, unless the file already exists.
+     * @return false if the ledger already existed (nothing was written).
+     */
+    public static boolean create(Path file, List<ScoreRecord> records) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (FileAlreadyExistsException e) {
+            return false; // Another instance was faster (or an earlier run)
+        }
+        try (channel) {
+            HighscoreLedger writer = new HighscoreLedger(file, channel, 0);
+            FileLock lock = channel.lock();
+            try {
+                writer.initialize();
+                writer.end = HEADER_SIZE;
+                writer.catchUp(true); // Records another instance appended after initializing it
+                ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * records.size());
+                for (ScoreRecord record : records) writer.encode(record, buffer);
+                buffer.flip();
+                long position = writer.end;
+                while (buffer.hasRemaining()) position += channel.write(buffer, position);
+                channel.force(true);
+            } finally {
+                lock.release();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Opens (or creates) a ledger and reads its records into the leaderboard.
+     * @param capacity How many of the best records the leaderboard keeps.
+     */
+    public static HighscoreLedger open(Path file, int capacity) throws IOException {
+        create(file, List.of());
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            HighscoreLedger ledger = new HighscoreLedger(file, channel, capacity);
+            FileLock lock = channel.lock();
+            try {
+                ledger.initialize();
+                ledger.end = HEADER_SIZE;
+                ledger.catchUp(true);
+            } finally {
+                lock.release();
+            }
+            return ledger;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Under the exclusive lock: writes the header of a new, still empty file, otherwise checks it
+    private void initialize() throws IOException {
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            while (header.hasRemaining()) channel.write(header, HEADER_SIZE - header.remaining());
+            channel.force(true);
+            return;
+        }
+        checkHeader();
+    }
+
+    private void checkHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Not a highscore ledger (or unsupported version): " + file);
+        }
+    }
+
+    /**
+     * Reads the records after 'end' (appended by us before a crash, or by another instance).
+     * @param repair Truncate a damaged tail; only allowed under the exclusive lock.
+     */
+    private void catchUp(boolean repair) throws IOException {
+        long size = channel.size();
+        if (size <= end) return;
+
+        // One sequential pass over the new records
+        chunk.clear();
+        long readPosition = end;
+        boolean corrupt = false;
+        int read;
+        while (!corrupt && (read = channel.read(chunk, readPosition)) > 0) {
+            readPosition += read;
+            chunk.flip();
+            while (chunk.remaining() >= RECORD_SIZE) {
+                ScoreRecord record = decode(chunk);
+                if (record == null) {
+                    corrupt = true;
+                    break;
+                }
+                offer(record);
+                recordCount++;
+                end += RECORD_SIZE;
+            }
+            chunk.compact(); // Keeps a partial record for the next read
+        }
+
+        // ERROR HANDLING: torn or corrupt tail (e.g. crash during an append)
+        if (repair && end < size) {
+            System.err.println("ERROR: Dropping " + (size - end) + " damaged bytes at the end of " + file);
+            channel.truncate(end);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Appends a finished session and updates the leaderboard.
+     */
+    public void append(ScoreRecord record) throws IOException {
+        appendAll(List.of(record));
+    }
+
+    /**
+     * Appends several sessions with one lock and one write (see sync() for durability).
+     */
+    public synchronized void appendAll(List<ScoreRecord> records) throws IOException {
+        if (records.isEmpty()) return;
+
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * records.size());
+        for (ScoreRecord record : records) encode(record, buffer);
+        buffer.flip();
+
+        FileLock lock = channel.lock();
+        try {
+            catchUp(true);
+            long position = end;
+            while (buffer.hasRemaining()) position += channel.write(buffer, position);
+        } finally {
+            lock.release();
+        }
+        for (ScoreRecord record : records) offer(record);
+        recordCount += records.size();
+        end += (long) RECORD_SIZE * records.size();
+        unsynced = true;
+    }
+
+    /**
+     * Picks up sessions that other app instances appended (shared lock, no writes).
+     */
+    public synchronized void refresh() throws IOException {
+        FileLock lock = channel.lock(0, Long.MAX_VALUE, true);
+        try {
+            catchUp(false);
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * Flushes appended records to the device.
+     */
+    public synchronized void sync() throws IOException {
+        if (!unsynced) return;
+        channel.force(false);
+        unsynced = false;
+    }
+
+    /**
+     * @return The leaderboard, best first (no disk access).
+     */
+    public synchronized List<ScoreRecord> top() {
+        List<ScoreRecord> sorted = new ArrayList<>(top);
+        sorted.sort(BY_SCORE.reversed());
+        return sorted;
+    }
+
+    /**
+     * @return The best record, or null if the ledger is empty.
+     */
+    public synchronized ScoreRecord best() {
+        ScoreRecord best = null;
+        for (ScoreRecord record : top) {
+            if (best == null || BY_SCORE.compare(record, best) > 0) best = record;
+        }
+        return best;
+    }
+
+    /**
+     * @return Number of sessions in the ledger.
+     */
+    public synchronized long size() {
+        return recordCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Bounded heap: replace the weakest entry only if the new record beats it
+    private void offer(ScoreRecord record) {
+        if (top.size() < capacity) {
+            top.add(record);
+        } else if (capacity > 0 && BY_SCORE.compare(record, top.peek()) > 0) {
+            top.poll();
+            top.add(record);
+        }
+    }
+
+    private void encode(ScoreRecord record, ByteBuffer out) {
+        int start = out.position();
+        out.putInt(record.score())
+                .putInt(record.wordsGuessed())
+                .put((byte) DifficultyPreset.fromLabel(record.difficulty()).ordinal())
+                .put((byte) Math.min(record.attempts(), 127))
+                .putShort((short) 0)
+                .putLong(record.durationMillis())
+                .putLong(record.finishedAt());
+        crc.reset();
+        crc.update(out.array(), start, PAYLOAD_SIZE);
+        out.putInt((int) crc.getValue());
+    }
+
+    // @return The record, or null if its checksum does not match
+    private ScoreRecord decode(ByteBuffer in) {
+        int start = in.position();
+        crc.reset();
+        crc.update(in.array(), start, PAYLOAD_SIZE);
+        if (in.getInt(start + PAYLOAD_SIZE) != (int) crc.getValue()) return null;
+
+        int score = in.getInt();
+        int words = in.getInt();
+        int difficulty = in.get();
+        int attempts = in.get();
+        in.getShort(); // Reserved
+        long duration = in.getLong();
+        long finishedAt = in.getLong();
+        in.getInt();   // CRC, checked above
+        DifficultyPreset[] presets = DifficultyPreset.values();
+        DifficultyPreset preset = (difficulty >= 0 && difficulty < presets.length) ? presets[difficulty] : DifficultyPreset.MEDIUM;
+        return new ScoreRecord(score, words, preset.label(), attempts, duration, finishedAt);
+    }
+}
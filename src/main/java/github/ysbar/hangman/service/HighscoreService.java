@@ -1,53 +1,361 @@
 package github.ysbar.hangman.service;
 
+import github.ysbar.hangman.metrics.Counter;
+import github.ysbar.hangman.metrics.HangmanEvents;
+import github.ysbar.hangman.metrics.LatencyHistogram;
+import github.ysbar.hangman.metrics.Metrics;
 import java.io.*;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @AUTHOR: Siqi
  * RESPONSIBILITY: Manages persistence (Saving/Loading) of the highscore.
+ * Every finished session is appended to a HighscoreLedger; the highscore and leaderboard
+ * are answered from the ledger's in-memory top list, so reading them never touches the disk.
+ * A highscore.csv from older versions is imported once into a new ledger.
+ *
+ * CHECKPOINTS:
+ * A session is appended once, when it ends. Until then checkpointSession() keeps its running total
+ * after every round in a small ledger of its own next to the main one ("<ledger>.<pid>.session",
+ * replaced atomically), and recording the finished session deletes it. If the game is killed or
+ * crashes, the next instance that opens the ledger finds the checkpoint of the dead process and
+ * appends it as a finished session, so no finished round is lost.
+ *
+ * THREADING:
+ * All ledger I/O runs on one writer (virtual) thread, never on the JavaFX thread.
+ * recordSession() and checkpointSession() only queue the result; the writer drains everything queued
+ * so far, appends it with one write and fsyncs once (results that arrive together are coalesced,
+ * and of several checkpoints only the last one is written).
+ * Reads are CompletableFutures completed by the same thread, so they see earlier writes.
+ *
+ * METRICS: "highscore.write" (append + fsync), "highscore.queue" (time from recordSession() to disk),
+ * "highscore.records", "errors.highscore"; JFR event HighscoreWrite.
  */
 
 public class HighscoreService {
 
-    private static final String FILE_NAME = "highscore.csv";
+    private static final String FILE_NAME = "highscore.ledger";
+    private static final String LEGACY_FILE_NAME = "highscore.csv";
+    private static final String CHECKPOINT_SUFFIX = ".session";
+    public static final int LEADERBOARD_SIZE = 10;
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    // Shared by every HighscoreService instance: each file is opened and read once per run
+    private static final Map<Path, HighscoreLedger> LEDGERS = new ConcurrentHashMap<>();
+
+    // --- WRITER THREAD ---
+    private static final ExecutorService WRITER =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("highscore-writer").factory());
+    private record PendingWrite(HighscoreService service, ScoreRecord record, boolean checkpoint,
+                                CompletableFuture<Void> done, long queuedNanos) {}
+    private static final Queue<PendingWrite> QUEUE = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean DRAIN_SCHEDULED = new AtomicBoolean();
+
+    private static final LatencyHistogram WRITE_TIME = Metrics.histogram("highscore.write");
+    private static final LatencyHistogram QUEUE_TIME = Metrics.histogram("highscore.queue");
+    private static final Counter RECORDS_WRITTEN = Metrics.counter("highscore.records");
+
+    private final Path file;
+    private final File legacyFile; // Old "SCORE;WORDS" file to import, or null
+
+    public HighscoreService() {
+        this(new File(FILE_NAME), new File(LEGACY_FILE_NAME));
+    }
+
+    /**
+     * @param file Ledger file to use instead of "highscore.ledger" in the working directory (e.g. for benchmarks).
+     */
+    public HighscoreService(File file) {
+        this(file, null);
+    }
+
+    private HighscoreService(File file, File legacyFile) {
+        this.file = file.toPath().toAbsolutePath().normalize();
+        this.legacyFile = legacyFile;
+    }
+
+    /**
+     * Returns the best session, read on the writer thread (the UI thread never waits for the disk).
+     * @return Future of the int array [Score, WordsGuessed]
+     */
+    public CompletableFuture<int[]> loadHighscoreAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            refresh();
+            return loadHighscore();
+        }, WRITER);
+    }
+
+    /**
+     * @return Future of the best LEADERBOARD_SIZE sessions, best first.
+     */
+    public CompletableFuture<List<ScoreRecord>> getLeaderboardAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            refresh();
+            return getLeaderboard();
+        }, WRITER);
+    }
 
     /**
-     * Loads highscore from disk.
+     * @return Future of the number of sessions in the ledger.
+     */
+    public CompletableFuture<Long> countSessionsAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            refresh();
+            HighscoreLedger ledger = ledger();
+            return (ledger != null) ? ledger.size() : 0L;
+        }, WRITER);
+    }
+
+    /**
+     * Returns the best session (from memory). Blocks on the first call of a run while the ledger is read
+     * and does not go through the writer thread, so the application uses loadHighscoreAsync() instead
+     * (this one is for benchmarks and single-threaded tools).
      * @return int array [Score, WordsGuessed]
      */
     public int[] loadHighscore() {
-        int[] stats = {0, 0};
-        File file = new File(FILE_NAME);
-
-        if (file.exists()) {
-            try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-                String line = br.readLine();
-                if (line != null) {
-                    // Expected Format: "SCORE;WORDS"
-                    String[] parts = line.split(";");
-                    if (parts.length >= 1) stats[0] = Integer.parseInt(parts[0].trim());
-                    if (parts.length >= 2) stats[1] = Integer.parseInt(parts[1].trim());
-                }
-            } catch (IOException | NumberFormatException e) {
-                System.err.println("ERROR: Could not read/parse highscore file.");
-            }
+        HighscoreLedger ledger = ledger();
+        ScoreRecord best = (ledger != null) ? ledger.best() : null;
+        return (best != null) ? new int[]{best.score(), best.wordsGuessed()} : new int[]{0, 0};
+    }
+
+    /**
+     * @return The best LEADERBOARD_SIZE sessions, best first (from memory, see loadHighscore()).
+     */
+    public List<ScoreRecord> getLeaderboard() {
+        HighscoreLedger ledger = ledger();
+        return (ledger != null) ? ledger.top() : List.of();
+    }
+
+    /**
+     * Queues a finished session for the writer thread and returns immediately.
+     * Also removes the session's checkpoint (see checkpointSession).
+     * @return Future completed once the session is on disk (exceptionally if the write failed).
+     */
+    public CompletableFuture<Void> recordSession(int score, int words, String difficulty, int attempts, long durationMillis) {
+        return enqueue(new ScoreRecord(score, words, difficulty, attempts, durationMillis, System.currentTimeMillis()), false);
+    }
+
+    /**
+     * Queues the running total of a session that is still being played (call after every round),
+     * so a crash before recordSession() does not lose its finished rounds.
+     * @return Future completed once the checkpoint is on disk (or replaced by a later write).
+     */
+    public CompletableFuture<Void> checkpointSession(int score, int words, String difficulty, int attempts, long durationMillis) {
+        return enqueue(new ScoreRecord(score, words, difficulty, attempts, durationMillis, System.currentTimeMillis()), true);
+    }
+
+    private CompletableFuture<Void> enqueue(ScoreRecord record, boolean checkpoint) {
+        PendingWrite write = new PendingWrite(this, record, checkpoint, new CompletableFuture<>(), System.nanoTime());
+        QUEUE.add(write);
+        // Only one drain task is queued at a time; it picks up everything added before it runs
+        if (DRAIN_SCHEDULED.compareAndSet(false, true)) {
+            WRITER.execute(HighscoreService::drain);
         }
-        return stats;
+        return write.done();
     }
 
     /**
-     * Saves new highscore if better than current.
+     * Writes everything still queued, then flushes and closes all open ledgers.
+     * Waits (up to CLOSE_TIMEOUT_SECONDS) because it is called when the application exits.
      */
-    public void checkAndSaveHighscore(int newScore, int newWords) {
-        int[] currentHigh = loadHighscore();
+    public static void closeAll() {
+        try {
+            CompletableFuture.runAsync(() -> {
+                drain();
+                for (HighscoreLedger ledger : LEDGERS.values()) {
+                    try {
+                        ledger.close();
+                    } catch (IOException e) {
+                        System.err.println("ERROR: Failed to close highscore ledger: " + e.getMessage());
+                        Metrics.error("highscore");
+                    }
+                }
+                LEDGERS.clear();
+            }, WRITER).get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            System.err.println("ERROR: Highscores were not saved completely: " + e);
+            Metrics.error("highscore");
+        }
+    }
+
+    // Writer thread: one append and one fsync per ledger for everything queued so far
+    private static void drain() {
+        DRAIN_SCHEDULED.set(false); // Writes queued from now on schedule the next drain
 
-        if (newScore > currentHigh[0]) {
-            try (BufferedWriter bw = new BufferedWriter(new FileWriter(FILE_NAME))) {
-                bw.write(newScore + ";" + newWords);
-                System.out.println("INFO: New highscore saved.");
+        Map<Path, List<PendingWrite>> byFile = new LinkedHashMap<>();
+        for (PendingWrite write; (write = QUEUE.poll()) != null; ) {
+            byFile.computeIfAbsent(write.service().file, f -> new ArrayList<>()).add(write);
+        }
+
+        for (List<PendingWrite> writes : byFile.values()) {
+            HighscoreService service = writes.get(0).service();
+            List<ScoreRecord> sessions = writes.stream().filter(w -> !w.checkpoint()).map(PendingWrite::record).toList();
+            PendingWrite last = writes.get(writes.size() - 1);
+
+            HighscoreLedger ledger = service.ledger();
+            HangmanEvents.HighscoreWrite event = new HangmanEvents.HighscoreWrite();
+            event.begin();
+            long start = System.nanoTime();
+            try {
+                if (ledger == null) throw new IOException("Ledger is not available");
+                if (!sessions.isEmpty()) {
+                    ledger.appendAll(sessions);
+                    ledger.sync();
+                }
+                // The last write decides: a running session's total, or a finished session that replaces it
+                if (last.checkpoint()) {
+                    writeCheckpoint(service.file, last.record());
+                } else {
+                    Files.deleteIfExists(checkpointFile(service.file, ProcessHandle.current().pid()));
+                }
+                long done = System.nanoTime();
+                WRITE_TIME.record(done - start);
+                RECORDS_WRITTEN.add(sessions.size());
+                writes.forEach(write -> {
+                    QUEUE_TIME.record(done - write.queuedNanos());
+                    write.done().complete(null);
+                });
             } catch (IOException e) {
                 System.err.println("ERROR: Failed to write highscore.");
+                Metrics.error("highscore");
+                event.failed = true;
+                writes.forEach(write -> write.done().completeExceptionally(e));
             }
+            event.records = sessions.size();
+            event.bytes = (long) sessions.size() * HighscoreLedger.RECORD_SIZE;
+            event.commit();
+        }
+    }
+
+    // Writer thread: replaces this process's checkpoint of the ledger with a one-record ledger
+    private static void writeCheckpoint(Path ledgerFile, ScoreRecord record) throws IOException {
+        Path checkpoint = checkpointFile(ledgerFile, ProcessHandle.current().pid());
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        Files.deleteIfExists(temp); // Left over by a crash during the last checkpoint
+        HighscoreLedger.create(temp, List.of(record));
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // "<ledger>.<pid>.session" next to the ledger
+    static Path checkpointFile(Path ledgerFile, long pid) {
+        return ledgerFile.resolveSibling(ledgerFile.getFileName() + "." + pid + CHECKPOINT_SUFFIX);
+    }
+
+    // Appends the checkpoints of processes that ended without finishing their session (crash, kill)
+    private static void recoverCheckpoints(Path ledgerFile, HighscoreLedger ledger) throws IOException {
+        Path dir = ledgerFile.getParent();
+        String prefix = ledgerFile.getFileName() + ".";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, prefix + "*" + CHECKPOINT_SUFFIX)) {
+            for (Path checkpoint : files) {
+                String name = checkpoint.getFileName().toString();
+                long pid;
+                try {
+                    pid = Long.parseLong(name.substring(prefix.length(), name.length() - CHECKPOINT_SUFFIX.length()));
+                } catch (NumberFormatException e) {
+                    continue; // Not one of ours
+                }
+                if (ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false)) continue; // Still playing
+
+                // Claim it first, so two instances starting together never append it twice
+                Path claimed = checkpoint.resolveSibling(name + ".recovering");
+                try {
+                    Files.move(checkpoint, claimed, StandardCopyOption.ATOMIC_MOVE);
+                } catch (NoSuchFileException e) {
+                    continue; // Another instance was faster
+                }
+                try (HighscoreLedger saved = HighscoreLedger.open(claimed, 1)) {
+                    ScoreRecord session = saved.best();
+                    if (session != null) {
+                        ledger.append(session);
+                        ledger.sync();
+                        System.out.println("INFO: Recovered an unfinished session (score " + session.score() + ") into " + ledgerFile.getFileName() + ".");
+                    }
+                }
+                Files.delete(claimed);
+            }
+        }
+    }
+
+    // Picks up sessions recorded by another running instance of the game
+    private void refresh() {
+        HighscoreLedger ledger = ledger();
+        if (ledger == null) return;
+        try {
+            ledger.refresh();
+        } catch (IOException e) {
+            System.err.println("ERROR: Could not refresh highscores: " + e.getMessage());
+            Metrics.error("highscore");
+        }
+    }
+
+    // Returns null if the ledger cannot be opened, so it is retried next time
+    private HighscoreLedger ledger() {
+        return LEDGERS.computeIfAbsent(file, this::openLedger);
+    }
+
+    private HighscoreLedger openLedger(Path path) {
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent()); // e.g. the daily challenge's "daily/"
+
+            // First run with a ledger: start it with the old highscore, if there is one
+            if (!Files.exists(path) && legacyFile != null && legacyFile.exists()) {
+                ScoreRecord legacy = readLegacy();
+                if (legacy != null && HighscoreLedger.create(path, List.of(legacy))) {
+                    System.out.println("INFO: Imported highscore from " + legacyFile.getName() + ".");
+                }
+            }
+            HighscoreLedger ledger = HighscoreLedger.open(path, LEADERBOARD_SIZE);
+            try {
+                recoverCheckpoints(path, ledger);
+            } catch (IOException e) {
+                // ERROR HANDLING: an unreadable checkpoint only loses that session; the ledger is fine
+                System.err.println("ERROR: Could not recover an unfinished session: " + e.getMessage());
+                Metrics.error("highscore");
+            }
+            return ledger;
+        } catch (IOException e) {
+            // ERROR HANDLING: unreadable ledger, play on without highscores
+            System.err.println("ERROR: Could not open highscore ledger " + path + ": " + e.getMessage());
+            Metrics.error("highscore");
+            return null;
+        }
+    }
+
+    // Reads the old single-line "SCORE;WORDS" file
+    private ScoreRecord readLegacy() {
+        try (BufferedReader br = new BufferedReader(new FileReader(legacyFile))) {
+            String line = br.readLine();
+            if (line == null) return null;
+
+            // Expected Format: "SCORE;WORDS" (difficulty and time were not recorded)
+            String[] parts = line.split(";");
+            int score = Integer.parseInt(parts[0].trim());
+            int words = (parts.length >= 2) ? Integer.parseInt(parts[1].trim()) : 0;
+            return new ScoreRecord(score, words, DifficultyPreset.MEDIUM.label(), 0, 0, legacyFile.lastModified());
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("ERROR: Could not read/parse highscore file.");
+            Metrics.error("highscore");
+            return null;
         }
     }
-}
\ No newline at end of file
+}
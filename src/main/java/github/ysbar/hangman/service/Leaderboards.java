@@ -0,0 +1,154 @@
+package github.ysbar.hangman.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * The global leaderboard plus one per difficulty, fed from any number of threads, and their
+ * periodic snapshots to disk.
+ *
+ * SNAPSHOTS (one text file per board, "leaderboard-<board>.csv" in the snapshot directory):
+ *   T;score;wordsGuessed;difficulty;attempts;durationMillis;finishedAt   (top-N entry, best first)
+ *   B;bucket;count                                                       (non-empty rank bucket)
+ * Each file is written to a temporary file and moved over the old one, so a crash while saving
+ * leaves the previous snapshot intact. Snapshots are read back by restore().
+ */
+
+public class Leaderboards {
+
+    public static final String GLOBAL = "global";
+    private static final String FILE_PREFIX = "leaderboard-";
+    private static final String FILE_SUFFIX = ".csv";
+
+    private final int capacity;
+    private final ConcurrentLeaderboard global;
+    private final Map<String, ConcurrentLeaderboard> byDifficulty = new ConcurrentHashMap<>();
+    private ScheduledExecutorService snapshotter;
+
+    public Leaderboards(int capacity) {
+        this.capacity = capacity;
+        this.global = new ConcurrentLeaderboard(capacity);
+    }
+
+    /**
+     * Adds a finished session to the global board and the board of its difficulty.
+     * @return true if it made the global top-N.
+     */
+    public boolean submit(ScoreRecord record) {
+        board(record.difficulty()).submit(record);
+        return global.submit(record);
+    }
+
+    public ConcurrentLeaderboard global() {
+        return global;
+    }
+
+    /**
+     * @return The board of a difficulty label ("Easy", "Medium", "Hard"), created on first use.
+     */
+    public ConcurrentLeaderboard board(String difficulty) {
+        return byDifficulty.computeIfAbsent(DifficultyPreset.fromLabel(difficulty).label(),
+                label -> new ConcurrentLeaderboard(capacity));
+    }
+
+    // --- SNAPSHOTS ---
+
+    /**
+     * Loads the snapshots in the directory (if any), then saves new ones every interval on a background thread.
+     */
+    public void startSnapshots(Path directory, long intervalSeconds) {
+        restore(directory);
+        snapshotter = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("leaderboard-snapshots").factory());
+        snapshotter.scheduleWithFixedDelay(() -> saveAll(directory), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic snapshots and writes a final one.
+     */
+    public void stopSnapshots(Path directory) {
+        if (snapshotter != null) snapshotter.shutdownNow();
+        saveAll(directory);
+    }
+
+    /**
+     * Writes a snapshot of every board.
+     */
+    public void saveAll(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            save(global, directory.resolve(FILE_PREFIX + GLOBAL + FILE_SUFFIX));
+            for (Map.Entry<String, ConcurrentLeaderboard> board : byDifficulty.entrySet()) {
+                save(board.getValue(), directory.resolve(FILE_PREFIX + board.getKey() + FILE_SUFFIX));
+            }
+        } catch (IOException e) {
+            // ERROR HANDLING: keep serving from memory; the next snapshot tries again
+            System.err.println("ERROR: Could not save leaderboard snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads every snapshot file found in the directory into the (empty) boards.
+     */
+    public void restore(Path directory) {
+        if (!Files.isDirectory(directory)) return;
+        try (var files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String board = name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length());
+                load(board.equals(GLOBAL) ? global : board(board), file);
+            }
+        } catch (IOException e) {
+            System.err.println("ERROR: Could not read leaderboard snapshots: " + e.getMessage());
+        }
+    }
+
+    private static void save(ConcurrentLeaderboard board, Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (ScoreRecord r : board.top()) {
+                out.write("T;" + r.score() + ";" + r.wordsGuessed() + ";" + r.difficulty() + ";" + r.attempts()
+                        + ";" + r.durationMillis() + ";" + r.finishedAt());
+                out.newLine();
+            }
+            long[] counts = board.bucketCounts();
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                if (counts[bucket] == 0) continue;
+                out.write("B;" + bucket + ";" + counts[bucket]);
+                out.newLine();
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void load(ConcurrentLeaderboard board, Path file) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.split(";");
+                try {
+                    if (parts[0].equals("T") && parts.length == 7) {
+                        board.restoreTop(new ScoreRecord(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), parts[3],
+                                Integer.parseInt(parts[4]), Long.parseLong(parts[5]), Long.parseLong(parts[6])));
+                    } else if (parts[0].equals("B") && parts.length == 3) {
+                        board.addToBucket(Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+                    }
+                } catch (NumberFormatException e) {
+                    // ERROR HANDLING: skip a damaged line, keep the rest of the snapshot
+                    System.err.println("ERROR: Skipping damaged leaderboard line in " + file.getFileName() + ": " + line);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package github.ysbar.hangman.service;
+
+import github.ysbar.hangman.engine.Alphabet;
+import github.ysbar.hangman.engine.HangmanGame;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Picks a uniformly random sample of words from a stream in a single pass (reservoir sampling),
+ * keeping only the current candidates in memory. Works for sources of unknown or huge size.
+ */
+
+public final class ReservoirSampler {
+
+    private ReservoirSampler() {}
+
+    /**
+     * Picks up to k words without repeats (reservoir sampling, algorithm R): the first k playable words
+     * fill the reservoir, then the i-th word replaces a random slot with probability k/i, which leaves
+     * every word with the same k/n chance once the stream ends.
+     * Only a line that is about to be picked is normalized; one the alphabet cannot play is skipped
+     * then, as if it was not there.
+     * @return The picked words (normalized for the alphabet, in no particular order); all of them if the stream has at most k.
+     */
+    public static List<String> sample(Stream<String> lines, int k, RandomGenerator random, Alphabet alphabet) {
+        List<String> picked = new ArrayList<>(Math.min(k, 1 << 16));
+        long seen = 0;
+
+        Iterator<String> it = lines.iterator();
+        while (it.hasNext()) {
+            String line = it.next();
+            if (line.isBlank()) continue;
+            if (line.length() > HangmanGame.MAX_LENGTH && line.trim().length() > HangmanGame.MAX_LENGTH) continue;
+            seen++;
+            long slot = (seen <= k) ? seen - 1 : random.nextLong(seen);
+            if (slot < k) {
+                String word = alphabet.normalize(line);
+                if (word == null) {
+                    seen--; // Not playable: as if the line was not there
+                } else if (slot < picked.size()) {
+                    picked.set((int) slot, word);
+                } else {
+                    picked.add(word);
+                }
+            }
+        }
+        return picked;
+    }
+}
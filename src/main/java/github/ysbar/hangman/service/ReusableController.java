@@ -0,0 +1,23 @@
+package github.ysbar.hangman.service;
+
+/**
+ * @AUTHOR: Yusuf
+ * RESPONSIBILITY:
+ * Lifecycle of a controller whose scene is cached by SceneSwitcher and shown many times.
+ * The FXML initialize() method runs only once (when the file is parsed, possibly in the background),
+ * so everything that has to happen on each visit belongs in activate().
+ */
+
+public interface ReusableController {
+
+    /**
+     * Called on the JavaFX thread every time the scene is shown, right after its root was swapped in.
+     */
+    void activate();
+
+    /**
+     * Called on the JavaFX thread when another scene replaces this one (stop timers, drop round state).
+     */
+    default void reset() {
+    }
+}
@@ -1,5 +1,9 @@
 package github.ysbar.hangman.service;
 
+import github.ysbar.hangman.metrics.HangmanEvents;
+import github.ysbar.hangman.metrics.LatencyHistogram;
+import github.ysbar.hangman.metrics.Metrics;
+import github.ysbar.hangman.model.GameSession;
 import javafx.event.Event;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
@@ -7,10 +11,31 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * @AUTHRO: Yusuf
  * RESPONSIBILITY: Encapsulates the logic for loading FXML files and switching scenes.
+ *
+ * SCENE CACHE:
+ * Each FXML file is parsed once per run; its root and controller are kept and reused, so a
+ * transition is only a root swap. Controllers implementing ReusableController are told when
+ * their scene is shown (activate) and hidden (reset). preload() parses files on a background
+ * thread ahead of time; a switch to a file that is still being preloaded waits for that load.
+ *
+ * SESSION:
+ * The window plays one GameSession. Controllers get it through their constructor: the loader's
+ * controller factory passes it to every controller with a (GameSession) constructor and uses the
+ * no-argument constructor for the others.
+ *
+ * METRICS: "scene.switch.cached", "scene.switch.parsed", "scene.parse", "errors.scene"; JFR event SceneSwitch.
  */
 
 public class SceneSwitcher {
@@ -18,6 +43,24 @@ public class SceneSwitcher {
     // Absolute path to resources ensures this works regardless of package depth
     private static final String BASE_PATH = "/github/ysbar/hangman/";
 
+    // A parsed FXML file
+    private record CachedScene(Parent root, Object controller) {}
+
+    // Shared by every SceneSwitcher instance (controllers create their own switcher)
+    private static final Map<String, CompletableFuture<CachedScene>> CACHE = new ConcurrentHashMap<>();
+    private static final ExecutorService PRELOADER = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Session of the window, handed to the controllers of every parsed scene
+    private static final GameSession SESSION = new GameSession();
+
+    private static final LatencyHistogram SWITCH_CACHED = Metrics.histogram("scene.switch.cached");
+    private static final LatencyHistogram SWITCH_PARSED = Metrics.histogram("scene.switch.parsed");
+    private static final LatencyHistogram PARSE_TIME = Metrics.histogram("scene.parse");
+
+    // Scene currently shown, only touched on the JavaFX thread
+    private static CachedScene current;
+    private static String currentName;
+
     /**
      * Switches scene triggered by a UI Event (e.g., Button Click).
      * Automatically retrieves the Stage from the event source.
@@ -28,6 +71,7 @@ public class SceneSwitcher {
             loadScene(fxmlFile, stage);
         } catch (Exception e) {
             System.err.println("Error: Could not retrieve Stage from Event.");
+            Metrics.error("scene");
             e.printStackTrace();
         }
     }
@@ -39,21 +83,103 @@ public class SceneSwitcher {
         loadScene(fxmlFile, stage);
     }
 
-    // Internal helper to load the FXML and set the root
+    /**
+     * Parses the FXML files in the background so the first switch to them is only a root swap.
+     * Files that are already cached (or being loaded) are not parsed again.
+     * @return Future completed when all files are parsed (exceptionally if one failed).
+     */
+    public CompletableFuture<Void> preload(String... fxmlFiles) {
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[fxmlFiles.length];
+        for (int i = 0; i < fxmlFiles.length; i++) {
+            loads[i] = CACHE.computeIfAbsent(fxmlFiles[i], file -> CompletableFuture.supplyAsync(() -> parse(file), PRELOADER));
+        }
+        return CompletableFuture.allOf(loads);
+    }
+
+    // Internal helper to get the cached (or freshly parsed) scene and set the root
     private void loadScene(String fxmlFile, Stage stage) {
+        HangmanEvents.SceneSwitch event = new HangmanEvents.SceneSwitch();
+        event.begin();
+        long start = System.nanoTime();
+        boolean cached = CACHE.containsKey(fxmlFile);
+
+        CachedScene next;
         try {
+            next = CACHE.computeIfAbsent(fxmlFile, file -> CompletableFuture.completedFuture(parse(file))).join();
+        } catch (UncheckedIOException | IllegalStateException | CompletionException e) {
+            // ERROR HANDLING: Critical for debugging missing files or typos; the next attempt parses again
+            CACHE.remove(fxmlFile);
+            System.err.println("CRITICAL ERROR: Failed to load FXML file: " + fxmlFile);
+            Metrics.error("scene");
+            e.printStackTrace();
+            return;
+        }
+
+        // Lifecycle: the old scene stops its work before the new one starts
+        if (current != null && current != next && current.controller() instanceof ReusableController old) {
+            old.reset();
+        }
+
+        if (stage.getScene() == null) {
+            stage.setScene(new Scene(next.root()));
+        } else if (stage.getScene().getRoot() != next.root()) {
+            stage.getScene().setRoot(next.root());
+        }
+        current = next;
+        currentName = fxmlFile;
+
+        if (next.controller() instanceof ReusableController controller) {
+            controller.activate();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        (cached ? SWITCH_CACHED : SWITCH_PARSED).record(elapsed);
+        event.scene = fxmlFile;
+        event.cached = cached;
+        event.commit();
+    }
+
+    /**
+     * @return The session played in the window (the one injected into the controllers).
+     */
+    public static GameSession session() {
+        return SESSION;
+    }
+
+    /**
+     * @return Name of the FXML file currently shown (e.g. "MainMenu"), or null before the first switch.
+     */
+    public static String currentSceneName() {
+        return currentName;
+    }
+
+    // Parses an FXML file; safe on a background thread as long as the root is not shown yet
+    private CachedScene parse(String fxmlFile) {
+        try {
+            long start = System.nanoTime();
             FXMLLoader loader = new FXMLLoader(getClass().getResource(BASE_PATH + fxmlFile + ".fxml"));
+            loader.setControllerFactory(SceneSwitcher::createController);
             Parent root = loader.load();
+            PARSE_TIME.recordSince(start);
+            return new CachedScene(root, loader.getController());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-            if (stage.getScene() == null) {
-                stage.setScene(new Scene(root));
-            } else {
-                stage.getScene().setRoot(root);
+    // Controller factory: injects the session into controllers that take one
+    private static Object createController(Class<?> type) {
+        try {
+            for (Constructor<?> constructor : type.getConstructors()) {
+                Class<?>[] parameters = constructor.getParameterTypes();
+                if (parameters.length == 1 && parameters[0] == GameSession.class) {
+                    return constructor.newInstance(SESSION);
+                }
             }
-        } catch (IOException e) {
-            // ERROR HANDLING: Critical for debugging missing files or typos
-            System.err.println("CRITICAL ERROR: Failed to load FXML file: " + fxmlFile);
-            e.printStackTrace();
+            return type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            // ERROR HANDLING: surfaces as a failed FXML load (see loadScene)
+            throw new IllegalStateException("Cannot create controller " + type.getName(), e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package github.ysbar.hangman.service;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: One finished game session as stored in the HighscoreLedger.
+ *
+ * @param score          Total score of the session
+ * @param wordsGuessed   Words guessed in the session
+ * @param difficulty     Word difficulty label ("Easy", "Medium", "Hard")
+ * @param attempts       Lives per round
+ * @param durationMillis Time spent in rounds
+ * @param finishedAt     End of the session, epoch milliseconds
+ */
+public record ScoreRecord(int score, int wordsGuessed, String difficulty, int attempts,
+                          long durationMillis, long finishedAt) {
+}
@@ -0,0 +1,85 @@
+package github.ysbar.hangman.service;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @AUTHOR: Yusuf
+ * RESPONSIBILITY:
+ * Runs the startup work shown by the splash screen: every step on its own virtual thread,
+ * all at the same time. Progress (finished steps / all steps) and the name of the last finished
+ * step are JavaFX properties, updated on the JavaFX thread, so the splash can bind to them.
+ *
+ * ERROR HANDLING:
+ * A failing step is logged and counted as done; the application still starts, and the work
+ * is simply done again on first use (e.g. WordService loads its lists lazily).
+ */
+
+public class StartupPipeline {
+
+    private record Step(String name, Runnable work) {}
+
+    private final List<Step> steps = new ArrayList<>();
+    private final ReadOnlyDoubleWrapper progress = new ReadOnlyDoubleWrapper(0);
+    private final ReadOnlyStringWrapper status = new ReadOnlyStringWrapper("Starting...");
+
+    /**
+     * Adds a step; steps run concurrently, so a step must not depend on another one.
+     */
+    public StartupPipeline step(String name, Runnable work) {
+        steps.add(new Step(name, work));
+        return this;
+    }
+
+    /**
+     * Starts all steps.
+     * @return Future completed (on a background thread) when every step has finished or failed.
+     */
+    public CompletableFuture<Void> start() {
+        long start = System.nanoTime();
+        AtomicInteger finished = new AtomicInteger();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        CompletableFuture<?>[] running = new CompletableFuture<?>[steps.size()];
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            running[i] = CompletableFuture.runAsync(() -> {
+                long stepStart = System.nanoTime();
+                try {
+                    step.work().run();
+                    System.out.printf("INFO: Startup step '%s' done in %.0f ms%n", step.name(), (System.nanoTime() - stepStart) / 1e6);
+                } catch (RuntimeException e) {
+                    System.err.println("ERROR: Startup step '" + step.name() + "' failed: " + e);
+                }
+                double done = (double) finished.incrementAndGet() / steps.size();
+                Platform.runLater(() -> {
+                    progress.set(done);
+                    status.set(step.name() + " ready");
+                });
+            }, executor);
+        }
+
+        return CompletableFuture.allOf(running).whenComplete((result, error) -> {
+            executor.shutdown();
+            System.out.printf("INFO: Startup finished in %.0f ms%n", (System.nanoTime() - start) / 1e6);
+        });
+    }
+
+    public ReadOnlyDoubleProperty progressProperty() {
+        return progress.getReadOnlyProperty();
+    }
+
+    public ReadOnlyStringProperty statusProperty() {
+        return status.getReadOnlyProperty();
+    }
+}
@@ -0,0 +1,106 @@
+package github.ysbar.hangman.service;
+
+import github.ysbar.hangman.engine.Alphabet;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Holds one word list in memory in a packed form.
+ * All words share a single char array; word i spans chars[offsets[i]] to chars[offsets[i + 1]].
+ * This avoids hundreds of String objects and lets a random pick be a single array lookup.
+ * Words are normalized for the alphabet while they are added (see Alphabet.normalize), so the
+ * engine only ever sees one char per letter and never normalizes during a round.
+ */
+
+public final class WordDictionary implements WordList {
+
+    private final char[] chars;   // All words back-to-back, already normalized
+    private final int[] offsets;  // Start of each word, plus one trailing end offset
+    private final int size;       // Number of words
+
+    private WordDictionary(char[] chars, int[] offsets, int size) {
+        this.chars = chars;
+        this.offsets = offsets;
+        this.size = size;
+    }
+
+    /**
+     * Reads a word list (one word per line) and packs it for the application's alphabet.
+     * Lines are normalized; empty, over-long or unplayable lines are skipped.
+     */
+    public static WordDictionary load(InputStream in) throws IOException {
+        Builder builder = new Builder(Alphabet.current());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            builder.add(line);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The word at the given position. The returned String is the only allocation.
+     */
+    @Override
+    public String wordAt(int index) {
+        int start = offsets[index];
+        return new String(chars, start, offsets[index + 1] - start);
+    }
+
+    @Override
+    public int lengthAt(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Accumulates words into growing arrays, then trims them once in build().
+     */
+    public static final class Builder {
+        private final Alphabet alphabet;
+        private char[] chars = new char[4096];
+        private int[] offsets = new int[512];
+        private int size = 0;
+        private int length = 0;
+
+        public Builder(Alphabet alphabet) {
+            this.alphabet = alphabet;
+        }
+
+        public Builder add(String rawWord) {
+            String word = alphabet.normalize(rawWord); // Also drops empty and over-long lines
+            if (word == null) return this;
+
+            // Grow storage geometrically so loading stays linear
+            if (length + word.length() > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + word.length()));
+            }
+            if (size + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+
+            word.getChars(0, word.length(), chars, length);
+            offsets[size] = length;
+            length += word.length();
+            size++;
+            return this;
+        }
+
+        public WordDictionary build() {
+            int[] finalOffsets = Arrays.copyOf(offsets, size + 1);
+            finalOffsets[size] = length;
+            return new WordDictionary(Arrays.copyOf(chars, length), finalOffsets, size);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package github.ysbar.hangman.service;
+
+import github.ysbar.hangman.engine.Alphabet;
+import github.ysbar.hangman.engine.HangmanGame;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Precomputed index over a word list that answers WordQuery lookups without scanning.
+ *
+ * For every word it stores:
+ *   - a mask of the distinct letters of the alphabet it contains (one bit per letter, up to 64),
+ *   - a rarity score (0-1000): the average rarity of its letters, where a letter's rarity is
+ *     1000 * (1 - frequency / frequency of the most common letter) across the whole list.
+ *
+ * Word ids are sorted into buckets by (length, distinct letters) and by rarity inside each bucket.
+ * A query touches one bucket per (length, distinct) pair and binary-searches the rarity range,
+ * so counting or picking a match costs O(buckets * log n), independent of how many words match.
+ * A word that appears in several lists is indexed once (under its first id).
+ */
+
+public final class WordIndex {
+
+    private static final int DISTINCT_SLOTS = Alphabet.MAX_LETTERS + 1;
+
+    private final WordList words;
+    private final Alphabet alphabet;
+    private final long[] letterMasks; // Per word id
+    private final short[] rarities;   // Per word id
+    private final int[] order;        // Word ids sorted by (length, distinct, rarity)
+    private final short[] orderRarity; // Rarity of order[i], kept contiguous for binary search
+    private final int[] bucketStart;  // First position in order[] of each (length, distinct) bucket
+
+    private WordIndex(WordList words, Alphabet alphabet, long[] letterMasks, short[] rarities,
+                      int[] order, short[] orderRarity, int[] bucketStart) {
+        this.words = words;
+        this.alphabet = alphabet;
+        this.letterMasks = letterMasks;
+        this.rarities = rarities;
+        this.order = order;
+        this.orderRarity = orderRarity;
+        this.bucketStart = bucketStart;
+    }
+
+    /**
+     * Builds the index over words normalized for the alphabet, with one pass for letter statistics
+     * and one primitive sort.
+     */
+    public static WordIndex build(WordList words, Alphabet alphabet) {
+        int n = words.size();
+        int letterCount = alphabet.size();
+        long[] masks = new long[n];
+        int[] lengths = new int[n];
+        long[] letterCounts = new long[letterCount];
+        boolean[] duplicate = new boolean[n];
+        Set<String> seen = new HashSet<>(n * 2);
+        int unique = 0;
+
+        // Pass 1: letter masks and global letter frequencies
+        for (int id = 0; id < n; id++) {
+            String word = words.wordAt(id);
+            if (!seen.add(word)) {
+                duplicate[id] = true;
+                continue;
+            }
+            unique++;
+            long mask = 0;
+            for (int i = 0; i < word.length(); i++) {
+                int letter = alphabet.indexOf(word.charAt(i));
+                if (letter < 0) continue;
+                mask |= 1L << letter;
+                letterCounts[letter]++;
+            }
+            masks[id] = mask;
+            lengths[id] = Math.min(word.length(), HangmanGame.MAX_LENGTH); // Longer words share the last length bucket
+        }
+
+        // Letter rarity: 0 for the most common letter, 1000 for a letter that never occurs
+        long maxCount = Math.max(1, Arrays.stream(letterCounts).max().orElse(1));
+        int[] letterRarity = new int[letterCount];
+        for (int letter = 0; letter < letterCount; letter++) {
+            letterRarity[letter] = (int) (WordQuery.MAX_RARITY - letterCounts[letter] * WordQuery.MAX_RARITY / maxCount);
+        }
+
+        // Pass 2: word rarity, then one sort on packed (bucket, rarity, id) keys
+        short[] rarities = new short[n];
+        long[] keys = new long[unique];
+        int k = 0;
+        for (int id = 0; id < n; id++) {
+            if (duplicate[id]) continue;
+            String word = words.wordAt(id);
+            int sum = 0, letters = 0;
+            for (int i = 0; i < word.length(); i++) {
+                int letter = alphabet.indexOf(word.charAt(i));
+                if (letter < 0) continue;
+                sum += letterRarity[letter];
+                letters++;
+            }
+            rarities[id] = (short) (letters == 0 ? 0 : sum / letters);
+
+            long bucket = bucketOf(lengths[id], Long.bitCount(masks[id]));
+            keys[k++] = (bucket << 42) | ((long) rarities[id] << 32) | id;
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[unique];
+        short[] orderRarity = new short[unique];
+        int[] bucketStart = new int[(HangmanGame.MAX_LENGTH + 1) * DISTINCT_SLOTS + 1];
+        Arrays.fill(bucketStart, unique);
+        for (int i = unique - 1; i >= 0; i--) {
+            order[i] = (int) keys[i];
+            orderRarity[i] = rarities[order[i]];
+            bucketStart[(int) (keys[i] >>> 42)] = i;
+        }
+        // Empty buckets start where the next non-empty one does
+        for (int b = bucketStart.length - 2; b >= 0; b--) {
+            bucketStart[b] = Math.min(bucketStart[b], bucketStart[b + 1]);
+        }
+
+        return new WordIndex(words, alphabet, masks, rarities, order, orderRarity, bucketStart);
+    }
+
+    public Alphabet alphabet() {
+        return alphabet;
+    }
+
+    public int size() {
+        return words.size();
+    }
+
+    public String wordAt(int id) {
+        return words.wordAt(id);
+    }
+
+    public long letterMask(int id) {
+        return letterMasks[id];
+    }
+
+    public int rarity(int id) {
+        return rarities[id];
+    }
+
+    /**
+     * @return How many words match the query.
+     */
+    public int count(WordQuery query) {
+        return (int) visit(query, -1);
+    }
+
+    /**
+     * Picks a uniformly random matching word id.
+     * @return The word id, or -1 if nothing matches.
+     */
+    public int pickRandom(WordQuery query, RandomGenerator random) {
+        int total = count(query);
+        if (total == 0) return -1;
+        return (int) visit(query, random.nextInt(total));
+    }
+
+    /**
+     * @return The ids of all matching words (e.g. to build a shuffled deck).
+     */
+    public int[] collect(WordQuery query) {
+        int[] ids = new int[count(query)];
+        int filled = 0;
+        int minLength = Math.max(query.minLength(), 0);
+        int maxLength = Math.min(query.maxLength(), HangmanGame.MAX_LENGTH);
+        for (int length = minLength; length <= maxLength; length++) {
+            for (int distinct = Math.max(query.minDistinct(), 0); distinct <= Math.min(length, alphabet.size()); distinct++) {
+                int bucket = bucketOf(length, distinct);
+                int from = lowerBound(bucketStart[bucket], bucketStart[bucket + 1], query.minRarity());
+                int to = lowerBound(from, bucketStart[bucket + 1], query.maxRarity() + 1);
+                System.arraycopy(order, from, ids, filled, to - from);
+                filled += to - from;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Walks the matching ranges. With target < 0 it returns the total count,
+     * otherwise the word id at position 'target' across all ranges.
+     */
+    private long visit(WordQuery query, int target) {
+        int seen = 0;
+        int minLength = Math.max(query.minLength(), 0);
+        int maxLength = Math.min(query.maxLength(), HangmanGame.MAX_LENGTH);
+        for (int length = minLength; length <= maxLength; length++) {
+            for (int distinct = Math.max(query.minDistinct(), 0); distinct <= Math.min(length, alphabet.size()); distinct++) {
+                int bucket = bucketOf(length, distinct);
+                int start = bucketStart[bucket], end = bucketStart[bucket + 1];
+                if (start == end) continue;
+
+                int from = lowerBound(start, end, query.minRarity());
+                int to = lowerBound(from, end, query.maxRarity() + 1);
+                if (target >= 0 && target < seen + (to - from)) {
+                    return order[from + (target - seen)];
+                }
+                seen += to - from;
+            }
+        }
+        return (target < 0) ? seen : -1;
+    }
+
+    // First position in [from, to) whose rarity is >= value
+    private int lowerBound(int from, int to, int value) {
+        int low = from, high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (orderRarity[mid] < value) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static int bucketOf(int length, int distinct) {
+        return length * DISTINCT_SLOTS + distinct;
+    }
+}
@@ -0,0 +1,36 @@
+package github.ysbar.hangman.service;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Read-only, index-based view of one word list.
+ * Implemented by the in-memory WordDictionary and the memory-mapped WordPack.
+ */
+
+public interface WordList {
+
+    int size();
+
+    /**
+     * @return The word at the given position, normalized for the alphabet (see Alphabet.normalize).
+     */
+    String wordAt(int index);
+
+    /**
+     * @return The length (in chars) of the word at the given position.
+     */
+    int lengthAt(int index);
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Picks a uniformly random word in O(1).
+     */
+    default String randomWord(RandomGenerator random) {
+        return wordAt(random.nextInt(size()));
+    }
+}
@@ -0,0 +1,114 @@
+package github.ysbar.hangman.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Reads a binary word pack (".hwp") by memory-mapping it, so opening a pack costs the same
+ * no matter how many words it holds. Words are decoded lazily when they are picked.
+ *
+ * FILE LAYOUT (big-endian, written by the "compileWordPacks" Gradle task):
+ *   Header   : magic "HWPK", version, wordCount, maxLength, payloadSize  (5 x int)
+ *   Buckets  : (maxLength + 2) x int, first word index for each word length;
+ *              words are sorted by length, so bucket L is [bucket[L], bucket[L + 1])
+ *   Offsets  : (wordCount + 1) x int, byte offset of each word inside the payload
+ *   Payload  : all words in UTF-8, back-to-back, normalized like Alphabet.ENGLISH (A-Z plus non-letters)
+ */
+
+public final class WordPack implements WordList {
+
+    public static final int MAGIC = 0x4857504B; // "HWPK"
+    public static final int VERSION = 1;
+    public static final String EXTENSION = ".hwp";
+    private static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+    private final MappedByteBuffer buffer;
+    private final int wordCount;
+    private final int maxLength;
+    private final int bucketsPos;  // Absolute position of the bucket table
+    private final int offsetsPos;  // Absolute position of the offset table
+    private final int payloadPos;  // Absolute position of the first payload byte
+
+    private WordPack(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        // ERROR HANDLING: Reject foreign or outdated files before trusting any offsets
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a word pack (bad magic)");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported word pack version: " + buffer.getInt(4));
+        }
+
+        this.wordCount = buffer.getInt(8);
+        this.maxLength = buffer.getInt(12);
+        int payloadSize = buffer.getInt(16);
+
+        this.bucketsPos = HEADER_SIZE;
+        this.offsetsPos = bucketsPos + (maxLength + 2) * Integer.BYTES;
+        this.payloadPos = offsetsPos + (wordCount + 1) * Integer.BYTES;
+
+        // ERROR HANDLING: Truncated file
+        if (wordCount < 0 || maxLength < 0 || (long) payloadPos + payloadSize > buffer.capacity()) {
+            throw new IOException("Word pack is truncated or corrupt");
+        }
+    }
+
+    /**
+     * Maps a word pack file into memory. The mapping stays valid after the channel is closed.
+     */
+    public static WordPack open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new WordPack(mapped);
+        }
+    }
+
+    @Override
+    public int size() {
+        return wordCount;
+    }
+
+    @Override
+    public String wordAt(int index) {
+        int start = offset(index);
+        int byteLength = offset(index + 1) - start;
+        byte[] bytes = new byte[byteLength];
+        buffer.get(payloadPos + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int lengthAt(int index) {
+        // Binary search the bucket table: the largest L with bucketStart(L) <= index
+        int low = 0, high = maxLength;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (bucketStart(mid) <= index) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+
+    public int maxLength() {
+        return maxLength;
+    }
+
+    /**
+     * @return Index of the first word with the given length (words with that length end at bucketStart(length + 1)).
+     */
+    public int bucketStart(int length) {
+        if (length > maxLength) return wordCount;
+        return buffer.getInt(bucketsPos + Math.max(length, 0) * Integer.BYTES);
+    }
+
+    private int offset(int index) {
+        return buffer.getInt(offsetsPos + index * Integer.BYTES);
+    }
+}
@@ -0,0 +1,38 @@
+package github.ysbar.hangman.service;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Describes which words a round may use, answered by WordIndex without scanning.
+ * All bounds are inclusive.
+ *
+ * @param minLength   Shortest allowed word (in chars)
+ * @param maxLength   Longest allowed word (in chars)
+ * @param minDistinct Fewest distinct letters (of the alphabet) the word must contain
+ * @param minRarity   Lowest allowed rarity score (0 = only the most common letters, 1000 = rarest)
+ * @param maxRarity   Highest allowed rarity score
+ */
+
+public record WordQuery(int minLength, int maxLength, int minDistinct, int minRarity, int maxRarity) {
+
+    public static final int MAX_RARITY = 1000;
+
+    /**
+     * Matches every word in the dictionary.
+     */
+    public static WordQuery any() {
+        return new WordQuery(0, Integer.MAX_VALUE, 0, 0, MAX_RARITY);
+    }
+
+    public WordQuery withLength(int min, int max) {
+        return new WordQuery(min, max, minDistinct, minRarity, maxRarity);
+    }
+
+    public WordQuery withMinDistinct(int min) {
+        return new WordQuery(minLength, maxLength, min, minRarity, maxRarity);
+    }
+
+    public WordQuery withRarity(int min, int max) {
+        return new WordQuery(minLength, maxLength, minDistinct, min, max);
+    }
+}
@@ -0,0 +1,186 @@
+package github.ysbar.hangman.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Hands out words without repeats: every difficulty has a shuffled "deck" of word ids and no
+ * word comes back until the whole deck has been played. Then a new, differently shuffled cycle starts.
+ *
+ * The deck is an int array of word ids shuffled lazily (one Fisher-Yates step per draw), so a draw
+ * is O(1) and allocates nothing. Each cycle is shuffled by a SplittableRandom seeded from
+ * (seed, cycle), so the position in the deck can be saved as three numbers and replayed on restart.
+ * The deck's size and a hash of its words (in id order) are saved with it; if the word lists were
+ * edited since, the old position would map to different words, so the deck starts fresh instead.
+ *
+ * One scheduler per player (see WordService.newScheduler): the WordIndex is shared, the decks are not,
+ * so players never take words out of each other's cycles. Decks are only used by the player's thread;
+ * save() may run on another thread.
+ */
+
+public class WordScheduler {
+
+    public static final Path DEFAULT_FILE = Path.of("word-schedule.properties"); // The desktop player's decks
+    private static final long CYCLE_GAMMA = 0x9E3779B97F4A7C15L; // Spreads cycle numbers over the seed space
+
+    private final WordIndex index;
+    private final Path file; // null: not persisted
+    private final Map<DifficultyPreset, Deck> decks = new ConcurrentHashMap<>();
+    private final Properties saved = new Properties(); // State read from disk, applied when a deck is first used
+
+    /**
+     * Decks that only live as long as this object (e.g. an anonymous server player).
+     */
+    public WordScheduler(WordIndex index) {
+        this(index, null);
+    }
+
+    /**
+     * Decks that continue from `file` and are written back to it by save().
+     */
+    public WordScheduler(WordIndex index, Path file) {
+        this.index = index;
+        this.file = file;
+        load();
+    }
+
+    /**
+     * Draws the next word id of the preset's deck.
+     * @return The word id, or -1 if the preset matches no word.
+     */
+    public int next(DifficultyPreset preset) {
+        return decks.computeIfAbsent(preset, this::createDeck).draw();
+    }
+
+    /**
+     * Writes the position of every deck, so a restarted app continues the current cycles.
+     * Synchronized, so two saves never write the file at the same time.
+     */
+    public synchronized void save() {
+        if (file == null) return;
+
+        // Start from the saved state, so decks not used in this run keep their position
+        Properties props = new Properties();
+        props.putAll(saved);
+        for (Map.Entry<DifficultyPreset, Deck> entry : decks.entrySet()) {
+            entry.getValue().writeTo(props, entry.getKey().name());
+        }
+
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            props.store(writer, "Hangman word schedule");
+        } catch (IOException e) {
+            System.err.println("ERROR: Failed to save word schedule: " + e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (file == null || !Files.exists(file)) return;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            saved.load(reader);
+        } catch (IOException e) {
+            System.err.println("ERROR: Could not read word schedule, starting fresh.");
+        }
+    }
+
+    private Deck createDeck(DifficultyPreset preset) {
+        int[] canonical = index.collect(preset.query());
+        Deck deck = new Deck(canonical, contentHash(canonical));
+        deck.restore(saved, preset.name());
+        return deck;
+    }
+
+    // Hash of the deck's words in id order (String.hashCode is the same in every run)
+    private long contentHash(int[] ids) {
+        long hash = ids.length;
+        for (int id : ids) hash = hash * 0x100000001B3L + index.wordAt(id).hashCode();
+        return hash;
+    }
+
+    /**
+     * One shuffled deck. ids[0, cursor) are the words already drawn in this cycle.
+     */
+    private static final class Deck {
+        private final int[] canonical; // Ids in index order, the starting point of every cycle
+        private final long contentHash; // See WordScheduler.contentHash
+        private final int[] ids;
+        private long seed = new SplittableRandom().nextLong();
+        private long cycle;
+        private int cursor;
+        private SplittableRandom random;
+
+        Deck(int[] canonical, long contentHash) {
+            this.canonical = canonical;
+            this.contentHash = contentHash;
+            this.ids = canonical.clone();
+            this.random = randomFor(seed, cycle);
+        }
+
+        synchronized int draw() {
+            if (ids.length == 0) return -1;
+            if (cursor == ids.length) startCycle(cycle + 1);
+            return step();
+        }
+
+        // One Fisher-Yates step: swap a random undrawn id into the cursor slot and hand it out
+        private int step() {
+            int pick = cursor + random.nextInt(ids.length - cursor);
+            int id = ids[pick];
+            ids[pick] = ids[cursor];
+            ids[cursor] = id;
+            cursor++;
+            return id;
+        }
+
+        private void startCycle(long newCycle) {
+            System.arraycopy(canonical, 0, ids, 0, ids.length);
+            cycle = newCycle;
+            cursor = 0;
+            random = randomFor(seed, cycle);
+        }
+
+        // Replays the saved cycle up to its cursor; ignored if the deck's words have changed
+        synchronized void restore(Properties props, String key) {
+            try {
+                int size = Integer.parseInt(props.getProperty(key + ".size", "-1"));
+                if (size != ids.length) return;
+                String hash = props.getProperty(key + ".hash");
+                if (hash == null || Long.parseUnsignedLong(hash, 16) != contentHash) {
+                    System.out.println("INFO: Word list of " + key + " changed, starting a new word cycle.");
+                    return;
+                }
+
+                long savedSeed = Long.parseLong(props.getProperty(key + ".seed"));
+                long savedCycle = Long.parseLong(props.getProperty(key + ".cycle"));
+                int savedCursor = Math.min(Integer.parseInt(props.getProperty(key + ".cursor")), ids.length);
+
+                seed = savedSeed;
+                startCycle(savedCycle);
+                while (cursor < savedCursor) step();
+            } catch (NumberFormatException e) {
+                System.err.println("ERROR: Invalid word schedule for " + key + ", starting fresh.");
+            }
+        }
+
+        synchronized void writeTo(Properties props, String key) {
+            props.setProperty(key + ".size", Integer.toString(ids.length));
+            props.setProperty(key + ".hash", Long.toHexString(contentHash));
+            props.setProperty(key + ".seed", Long.toString(seed));
+            props.setProperty(key + ".cycle", Long.toString(cycle));
+            props.setProperty(key + ".cursor", Integer.toString(cursor));
+        }
+
+        private static SplittableRandom randomFor(long seed, long cycle) {
+            return new SplittableRandom(seed + cycle * CYCLE_GAMMA);
+        }
+    }
+}
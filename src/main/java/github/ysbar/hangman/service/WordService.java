@@ -1,65 +1,308 @@
 package github.ysbar.hangman.service;
 
-import java.io.BufferedReader;
+import github.ysbar.hangman.engine.Alphabet;
+import github.ysbar.hangman.engine.SolverIndex;
+import github.ysbar.hangman.metrics.HangmanEvents;
+import github.ysbar.hangman.metrics.LatencyHistogram;
+import github.ysbar.hangman.metrics.Metrics;
+
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
 
 /**
  * @AUTHOR: Siqi
  * RESPONSIBILITY: Handles File I/O for word lists and random word selection.
+ * Each list is loaded only once: from a memory-mapped word pack if one is available,
+ * otherwise from the highest-priority WordSource. Small lists are packed into a
+ * WordDictionary. A list above STREAMING_THRESHOLD is never loaded whole: one streaming pass
+ * (while it loads, e.g. on the splash screen, never on the JavaFX thread during a round) keeps a
+ * reservoir sample of SAMPLE_SIZE of its words, and that sample is played like any other list
+ * (index, presets, no-repeat decks, daily challenge). The sample uses a fixed seed (SAMPLE_SEED), so
+ * the same file always yields the same words and the saved decks stay valid between runs.
+ * The price: words outside those SAMPLE_SIZE are never played, on any run, until the file changes.
+ * A per-run seed would reach them over time, but every start would restart the decks (the deck hash
+ * changes with the sample) and the daily word would differ between runs and players.
+ *
+ * Every list is normalized for the application's alphabet (-Dhangman.locale, see Alphabet) while it
+ * is loaded. Word packs are compiled with the English rules, so they are only used in English.
+ *
+ * Difficulties are DifficultyPreset queries over a WordIndex of all loaded lists combined;
+ * the per-difficulty list is only used if the index has no match. The index is shared by every
+ * player; each player draws from a WordScheduler of their own (newScheduler), so words do not
+ * repeat for them until every matching word has been played.
+ *
+ * METRICS: "word.load" (per list), "word.draw" (per round), "word.index.build", "errors.word";
+ * JFR event WordLoad.
  */
 
 public class WordService {
 
+    private static final String[] DIFFICULTIES = { "Easy", "Medium", "Hard" };
+    private static final Alphabet ALPHABET = Alphabet.current();
+
+    // Directory holding compiled ".hwp" word packs (set by the launcher scripts, see build.gradle.kts)
+    private static final String PACK_DIR_PROPERTY = "hangman.wordpacks";
+    private static final String DEFAULT_PACK_DIR = "wordpacks";
+
+    // Lists bigger than this (in bytes) are sampled from the stream instead of loaded
+    private static final long STREAMING_THRESHOLD = 256L * 1024 * 1024;
+    private static final int SAMPLE_SIZE = 100_000;        // Words kept from such a list
+    private static final long SAMPLE_SEED = 0x53414D504C45L; // "SAMPLE": same sample on every run
+
+    // All registered sources (see module-info.java), highest priority first
+    private static final List<WordSource> SOURCES = ServiceLoader.load(WordSource.class).stream()
+            .map(ServiceLoader.Provider::get)
+            .sorted(Comparator.comparingInt(WordSource::priority).reversed())
+            .toList();
+
+    // What a difficulty resolved to: the list, and the source it was sampled from (null if loaded whole)
+    private record Loaded(WordList list, WordSource sampledSource) {}
+
+    // Shared by every WordService instance, so controllers can keep creating their own service
+    private static final Map<String, Loaded> DICTIONARIES = new ConcurrentHashMap<>();
+
+    // Index over every indexable list, built on first use
+    private static volatile WordIndex index;
+    private static volatile SolverIndex solverIndex;
+
+    private static final LatencyHistogram LOAD_TIME = Metrics.histogram("word.load");
+    private static final LatencyHistogram DRAW_TIME = Metrics.histogram("word.draw");
+    private static final LatencyHistogram INDEX_BUILD_TIME = Metrics.histogram("word.index.build");
+
+    /**
+     * @return A random word of the difficulty, without the no-repeat decks (may repeat any time).
+     */
     public String getRandomWord(String difficulty) {
-        String filename = "";
-        final String BASE_PATH = "/github/ysbar/hangman/";
+        return getRandomWord(difficulty, null);
+    }
+
+    /**
+     * @param decks The player's no-repeat decks (see newScheduler), or null for a plain random pick.
+     * @return The next word of the difficulty.
+     */
+    public String getRandomWord(String difficulty, WordScheduler decks) {
+        long start = System.nanoTime();
+        String word = drawWord(difficulty, decks);
+        DRAW_TIME.recordSince(start);
+        return word;
+    }
+
+    private String drawWord(String difficulty, WordScheduler decks) {
+        // Preferred: the next word of the difficulty preset's deck (or any word matching the preset)
+        WordIndex wordIndex = getIndex();
+        DifficultyPreset preset = DifficultyPreset.fromLabel(difficulty);
+        int id = (decks != null) ? decks.next(preset) : wordIndex.pickRandom(preset.query(), ThreadLocalRandom.current());
+        if (id >= 0) return wordIndex.wordAt(id);
+
+        Loaded loaded = load(difficulty);
 
-        // Map difficulty string to filename
-        filename = switch (difficulty) {
-            case "Easy" -> "easy.csv";
-            case "Hard" -> "hard.csv";
-            default -> "medium.csv";
-        };
+        // ERROR HANDLING: File not found
+        if (loaded == null) {
+            return "DEVELOPER"; // Hardcoded fallback to prevent crash
+        }
+
+        // ERROR HANDLING: Empty file
+        if (loaded.list().isEmpty()) {
+            return "JAVA";
+        }
+
+        // Words are stored normalized already, so this is a single O(1) lookup
+        return loaded.list().randomWord(ThreadLocalRandom.current());
+    }
 
-        List<String> words = new ArrayList<>();
+    /**
+     * Picks a random word matching the query from the combined dictionary.
+     * @return The word, or null if no loaded word matches.
+     */
+    public String findWord(WordQuery query) {
+        WordIndex wordIndex = getIndex();
+        int id = wordIndex.pickRandom(query, ThreadLocalRandom.current());
+        return (id >= 0) ? wordIndex.wordAt(id) : null;
+    }
 
-        // Try-with-resources ensures the InputStream is closed automatically
-        try (InputStream is = getClass().getResourceAsStream(BASE_PATH + filename)) {
+    /**
+     * @return How many words in the combined dictionary match the query.
+     */
+    public int countWords(WordQuery query) {
+        return getIndex().count(query);
+    }
 
-            // Fallback: try root path if package path fails
-            InputStream finalStream = (is != null) ? is : getClass().getResourceAsStream("/" + filename);
+    /**
+     * Returns the index over all difficulty lists combined, building it on first use.
+     * A huge list takes part with its sample (see the class comment).
+     */
+    public WordIndex getIndex() {
+        WordIndex current = index;
+        if (current != null) return current;
 
-            // ERROR HANDLING: File not found
-            if (finalStream == null) {
-                System.err.println("ERROR: Dictionary file not found: " + filename);
-                return "DEVELOPER"; // Hardcoded fallback to prevent crash
+        synchronized (WordService.class) {
+            if (index == null) {
+                List<WordList> lists = new ArrayList<>();
+                for (String difficulty : DIFFICULTIES) {
+                    WordList list = getDictionary(difficulty);
+                    if (list != null) lists.add(list);
+                }
+                long start = System.nanoTime();
+                WordIndex built = WordIndex.build(new CompositeWordList(lists), ALPHABET);
+                INDEX_BUILD_TIME.recordSince(start);
+                index = built;
             }
+            return index;
+        }
+    }
 
-            // Stream API to read lines, trim whitespace, and ignore empty lines
-            words = new BufferedReader(new InputStreamReader(finalStream))
-                    .lines()
-                    .map(String::trim)
-                    .filter(w -> !w.isEmpty())
-                    .toList();
+    /**
+     * Returns the solver bitmaps over the combined dictionary (smart hints, computer opponent),
+     * building them on first use.
+     */
+    public SolverIndex getSolverIndex() {
+        SolverIndex current = solverIndex;
+        if (current != null) return current;
 
-            if (finalStream != is) finalStream.close();
+        WordIndex wordIndex = getIndex();
+        synchronized (WordService.class) {
+            if (solverIndex == null) {
+                // View the index as a list without copying the words out first
+                solverIndex = SolverIndex.build(new AbstractList<String>() {
+                    @Override public String get(int id) { return wordIndex.wordAt(id); }
+                    @Override public int size() { return wordIndex.size(); }
+                }, ALPHABET);
+            }
+            return solverIndex;
+        }
+    }
 
+    /**
+     * Creates a player's own no-repeat decks over the shared index (builds the index if needed).
+     * @param file Where the decks continue from and are saved to, or null to keep them in memory only.
+     */
+    public WordScheduler newScheduler(Path file) {
+        return new WordScheduler(getIndex(), file);
+    }
+
+    /**
+     * Returns the dictionary for a difficulty, loading it on first use.
+     * @return The dictionary (the sample of a huge list), or null if no source could supply it.
+     */
+    public WordList getDictionary(String difficulty) {
+        Loaded loaded = load(difficulty);
+        return (loaded != null) ? loaded.list() : null;
+    }
+
+    /**
+     * Loads all word lists and builds the index and solver bitmaps up front so the first round does not pay for it.
+     */
+    public void preloadAll() {
+        getIndex();
+        getSolverIndex();
+    }
+
+    // Returns null so a failed load is retried next time
+    private Loaded load(String difficulty) {
+        return DICTIONARIES.computeIfAbsent(WordSource.baseName(difficulty), base -> loadMeasured(difficulty));
+    }
+
+    // loadDictionary plus its metrics (only runs once per list)
+    private Loaded loadMeasured(String difficulty) {
+        HangmanEvents.WordLoad event = new HangmanEvents.WordLoad();
+        event.begin();
+        long start = System.nanoTime();
+
+        Loaded loaded = loadDictionary(difficulty);
+
+        LOAD_TIME.recordSince(start);
+        event.difficulty = difficulty;
+        if (loaded == null) {
+            event.source = "none";
+        } else {
+            event.source = (loaded.sampledSource() != null)
+                    ? "sampled " + loaded.sampledSource().name()
+                    : loaded.list().getClass().getSimpleName();
+            event.words = loaded.list().size();
+        }
+        event.commit();
+        return loaded;
+    }
+
+    // Internal helper to resolve one word list
+    private Loaded loadDictionary(String difficulty) {
+        WordList pack = loadPack(WordSource.baseName(difficulty));
+        if (pack != null) return new Loaded(pack, null);
+
+        for (WordSource source : SOURCES) {
+            if (!source.supports(difficulty)) continue;
+
+            if (source.sizeHint(difficulty) > STREAMING_THRESHOLD) {
+                WordDictionary sample = sampleFromSource(source, difficulty);
+                if (sample != null) {
+                    System.out.println("INFO: Playing " + sample.size() + " sampled " + difficulty + " words from " + source.name() + ".");
+                    return new Loaded(sample, source);
+                }
+                continue;
+            }
+
+            WordDictionary dictionary = loadFromSource(source, difficulty);
+            if (dictionary != null) return new Loaded(dictionary, null);
+        }
+
+        // ERROR HANDLING: File not found
+        System.err.println("ERROR: No word source found for difficulty: " + difficulty);
+        Metrics.error("word");
+        return null;
+    }
+
+    // Preferred source: a compiled word pack, mapped instead of read, so size does not matter
+    private WordList loadPack(String baseName) {
+        if (ALPHABET != Alphabet.ENGLISH) return null; // Packs hold English-normalized words (see compileWordPacks)
+        Path file = Path.of(System.getProperty(PACK_DIR_PROPERTY, DEFAULT_PACK_DIR), baseName + WordPack.EXTENSION);
+        if (!Files.isRegularFile(file)) return null;
+
+        try {
+            return WordPack.open(file);
         } catch (IOException e) {
-            System.err.println("IO ERROR while reading word file: " + e.getMessage());
+            // ERROR HANDLING: Corrupt pack, fall back to the word sources
+            System.err.println("ERROR: Could not map word pack " + file + ": " + e.getMessage());
+            Metrics.error("word");
+            return null;
         }
+    }
 
-        // ERROR HANDLING: Empty file
-        if (words.isEmpty()) {
-            return "JAVA";
+    // Streams a source straight into the packed builder, no intermediate List<String>
+    private WordDictionary loadFromSource(WordSource source, String difficulty) {
+        // Try-with-resources ensures the underlying file is closed automatically
+        try (Stream<String> lines = source.openWords(difficulty)) {
+            WordDictionary.Builder builder = new WordDictionary.Builder(ALPHABET);
+            lines.forEach(builder::add);
+            return builder.build();
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("IO ERROR while reading word list from " + source.name() + ": " + e.getMessage());
+            Metrics.error("word");
+            return null;
         }
+    }
 
-        // Return random word in Uppercase
-        return words.get(new Random().nextInt(words.size())).toUpperCase();
+    // One pass over a huge list, keeping SAMPLE_SIZE random words (see the class comment)
+    private WordDictionary sampleFromSource(WordSource source, String difficulty) {
+        try (Stream<String> lines = source.openWords(difficulty)) {
+            WordDictionary.Builder builder = new WordDictionary.Builder(ALPHABET);
+            ReservoirSampler.sample(lines, SAMPLE_SIZE, new SplittableRandom(SAMPLE_SEED), ALPHABET).forEach(builder::add);
+            return builder.build();
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("IO ERROR while sampling word list from " + source.name() + ": " + e.getMessage());
+            Metrics.error("word");
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
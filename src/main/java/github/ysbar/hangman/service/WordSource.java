@@ -0,0 +1,57 @@
+package github.ysbar.hangman.service;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY:
+ * Service interface for anything that can supply a word list for a difficulty.
+ * Implementations are discovered with ServiceLoader (see module-info.java) and must
+ * stream their words lazily, so a huge list is never materialized as a List<String>.
+ */
+
+public interface WordSource {
+
+    /**
+     * Human readable name used in log messages.
+     */
+    String name();
+
+    /**
+     * Sources with a higher priority are asked first. The bundled CSVs use 0.
+     */
+    int priority();
+
+    /**
+     * @return true if this source currently has a word list for the difficulty.
+     */
+    boolean supports(String difficulty);
+
+    /**
+     * Opens a lazy stream of raw lines for the difficulty. Lines may still need trimming
+     * and may be empty. The caller must close the stream (try-with-resources).
+     */
+    Stream<String> openWords(String difficulty) throws IOException;
+
+    /**
+     * Rough size of the list in bytes, or -1 if unknown. Used to decide whether a list is
+     * small enough to be kept in memory or should be sampled straight from the stream.
+     */
+    default long sizeHint(String difficulty) {
+        return -1;
+    }
+
+    /**
+     * Maps a difficulty ("Easy", "Medium", "Hard") to the base name shared by its word files.
+     * Unknown difficulties use the medium list, as before.
+     */
+    static String baseName(String difficulty) {
+        return switch (difficulty.toLowerCase(Locale.ROOT)) {
+            case "easy" -> "easy";
+            case "hard" -> "hard";
+            default -> "medium";
+        };
+    }
+}
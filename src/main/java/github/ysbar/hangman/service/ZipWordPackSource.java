@@ -0,0 +1,101 @@
+package github.ysbar.hangman.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: Streams word lists out of a single zip bundle given by -Dhangman.words.zip.
+ * The bundle holds one entry per difficulty ("easy.csv", "medium.txt", ...), possibly in a folder.
+ * Entries are inflated while they are read; nothing is extracted to disk.
+ */
+
+public class ZipWordPackSource implements WordSource {
+
+    static final String ZIP_PROPERTY = "hangman.words.zip";
+    private static final String[] EXTENSIONS = { ".csv", ".txt" };
+
+    @Override
+    public String name() {
+        return "zip bundle";
+    }
+
+    @Override
+    public int priority() {
+        return 30;
+    }
+
+    @Override
+    public boolean supports(String difficulty) {
+        Path zip = zipFile();
+        if (zip == null) return false;
+        try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+            return findEntry(zipFile, difficulty) != null;
+        } catch (IOException e) {
+            System.err.println("ERROR: Could not open word bundle " + zip + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public Stream<String> openWords(String difficulty) throws IOException {
+        Path zip = zipFile();
+        if (zip == null) throw new IOException("No word bundle configured");
+
+        ZipFile zipFile = new ZipFile(zip.toFile());
+        ZipEntry entry = findEntry(zipFile, difficulty);
+        if (entry == null) {
+            zipFile.close();
+            throw new IOException("No entry for " + difficulty + " in " + zip);
+        }
+
+        // Closing the returned stream closes the entry stream first, then the zip file itself
+        return ClasspathCsvWordSource.linesOf(zipFile.getInputStream(entry)).onClose(() -> {
+            try {
+                zipFile.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public long sizeHint(String difficulty) {
+        Path zip = zipFile();
+        if (zip == null) return -1;
+        try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+            ZipEntry entry = findEntry(zipFile, difficulty);
+            return (entry != null) ? entry.getSize() : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static Path zipFile() {
+        String zip = System.getProperty(ZIP_PROPERTY);
+        if (zip == null || zip.isBlank()) return null;
+        Path path = Path.of(zip);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    // Matches "<base><extension>" at the top level or inside any folder of the bundle
+    private static ZipEntry findEntry(ZipFile zipFile, String difficulty) {
+        String base = WordSource.baseName(difficulty);
+        return zipFile.stream()
+                .filter(e -> !e.isDirectory())
+                .filter(e -> {
+                    String name = e.getName().substring(e.getName().lastIndexOf('/') + 1);
+                    for (String extension : EXTENSIONS) {
+                        if (name.equals(base + extension)) return true;
+                    }
+                    return false;
+                })
+                .findFirst()
+                .orElse(null);
+    }
+}
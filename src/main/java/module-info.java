@@ -1,6 +1,7 @@
 module github.ysbar.hangman {
     requires javafx.controls;
     requires javafx.fxml;
+    requires jdk.jfr;
 
     requires org.controlsfx.controls;
     requires com.dlsc.formsfx;
@@ -9,4 +10,11 @@ module github.ysbar.hangman {
     exports github.ysbar.hangman;
     opens github.ysbar.hangman.model to javafx.fxml;
     opens github.ysbar.hangman.service to javafx.fxml;
+
+    uses github.ysbar.hangman.service.WordSource;
+    provides github.ysbar.hangman.service.WordSource with
+            github.ysbar.hangman.service.ClasspathCsvWordSource,
+            github.ysbar.hangman.service.DirectoryWordSource,
+            github.ysbar.hangman.service.GzipWordSource,
+            github.ysbar.hangman.service.ZipWordPackSource;
 }
\ No newline at end of file
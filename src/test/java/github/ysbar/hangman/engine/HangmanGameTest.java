@@ -0,0 +1,115 @@
+package github.ysbar.hangman.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY: Rules of one HangmanGame round: hits, misses, repeated guesses, win, loss,
+ * hints and their seeded positions, and reuse of one instance across rounds.
+ */
+
+class HangmanGameTest {
+
+    @Test
+    void hitRevealsEveryPositionOfTheLetter() {
+        HangmanGame game = new HangmanGame("BANANA", 6);
+        assertEquals(GuessResult.HIT, game.guess('A'));
+        assertEquals('_', game.revealedAt(0));
+        assertEquals('A', game.revealedAt(1));
+        assertEquals('A', game.revealedAt(5));
+        assertEquals(6, game.getRemainingAttempts());
+    }
+
+    @Test
+    void missCostsALifeAndRepeatsCostNothing() {
+        HangmanGame game = new HangmanGame("BANANA", 6);
+        assertEquals(GuessResult.MISS, game.guess('Z'));
+        assertEquals(GuessResult.REPEATED, game.guess('Z'));
+        assertEquals(5, game.getRemainingAttempts());
+        assertEquals(1, game.getMistakes());
+    }
+
+    @Test
+    void roundIsWonOnceEveryLetterIsRevealed() {
+        HangmanGame game = new HangmanGame("BANANA", 6);
+        game.guess('B');
+        game.guess('A');
+        assertEquals(GameStatus.PLAYING, game.getStatus());
+        game.guess('N');
+        assertEquals(GameStatus.WON, game.getStatus());
+        assertEquals(GuessResult.IGNORED, game.guess('X'));
+    }
+
+    @Test
+    void roundIsLostWithoutLives() {
+        HangmanGame game = new HangmanGame("CAT", 2);
+        game.guess('X');
+        game.guess('Y');
+        assertEquals(GameStatus.LOST, game.getStatus());
+        assertEquals(0, game.getRemainingAttempts());
+    }
+
+    @Test
+    void nonLettersAreShownAndNeverGuessed() {
+        HangmanGame game = new HangmanGame("ICE-CREAM", 6);
+        assertEquals('-', game.revealedAt(3));
+        assertEquals(GuessResult.IGNORED, game.guess('-'));
+    }
+
+    @Test
+    void hintCostsLivesUnlessItWinsTheRound() {
+        HangmanGame game = new HangmanGame("AB", 6);
+        assertEquals('A', game.hint('A'));
+        assertEquals(6 - HangmanGame.HINT_COST, game.getRemainingAttempts());
+        assertEquals('B', game.hint('B'));
+        assertEquals(GameStatus.WON, game.getStatus());
+        assertEquals(6 - HangmanGame.HINT_COST, game.getRemainingAttempts());
+    }
+
+    @Test
+    void hintIsRefusedWithoutEnoughLives() {
+        HangmanGame game = new HangmanGame("HOUSE", HangmanGame.HINT_COST);
+        assertFalse(game.canHint());
+        assertEquals(0, game.hint());
+        assertEquals(0, game.hint('H'));
+    }
+
+    @Test
+    void sameSeedGivesTheSameHints() {
+        HangmanGame first = new HangmanGame("A", 9, new SplittableRandom(1));
+        HangmanGame second = new HangmanGame("A", 9, new SplittableRandom(2));
+        first.start("ABCDEFGH", 9, 42);
+        second.start("ABCDEFGH", 9, 42);
+        assertEquals(first.hint(), second.hint());
+        assertEquals(first.hint(), second.hint());
+    }
+
+    @Test
+    void startResetsTheRound() {
+        HangmanGame game = new HangmanGame("CAT", 6);
+        game.guess('C');
+        game.guess('Z');
+        game.start("DOG", 3);
+        assertEquals(GameStatus.PLAYING, game.getStatus());
+        assertEquals(3, game.getRemainingAttempts());
+        assertFalse(game.isGuessed('C'));
+        assertEquals(GuessResult.HIT, game.guess('O'));
+        assertTrue(game.isGuessed('O'));
+    }
+
+    @Test
+    void otherAlphabetsPlayTheirOwnLetters() {
+        HangmanGame game = new HangmanGame("ДОМ", 6, new SplittableRandom(), Alphabet.RUSSIAN);
+        assertEquals(GuessResult.HIT, game.guess('Д'));
+        assertEquals(GuessResult.IGNORED, game.guess('D'));
+        game.guess('О');
+        game.guess('М');
+        assertEquals(GameStatus.WON, game.getStatus());
+    }
+}
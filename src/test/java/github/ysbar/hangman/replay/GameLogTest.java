@@ -0,0 +1,128 @@
+package github.ysbar.hangman.replay;
+
+import github.ysbar.hangman.engine.Alphabet;
+import github.ysbar.hangman.engine.GameStatus;
+import github.ysbar.hangman.engine.HangmanGame;
+import github.ysbar.hangman.engine.Scoring;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY: Replay logs: rounds written by GameLogWriter come back unchanged from
+ * GameLogReader (in any alphabet), a round cut off by a crash is reported, and a recorded round
+ * replays to the same result and score.
+ */
+
+class GameLogTest {
+
+    private static final char NO_HINT = 0;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundsSurviveWriteAndRead() throws IOException {
+        GameLog english = new GameLog(42, 1_700_000_000_000L, "Hard", 6, Alphabet.ENGLISH, "HOUSE",
+                moves(Alphabet.ENGLISH, "HZ", '-', "O"), new int[]{1200, 800, 300, 2500}, 0);
+        GameLog russian = new GameLog(-7, 1_700_000_500_000L, "Easy", 9, Alphabet.RUSSIAN, "ДОМ",
+                moves(Alphabet.RUSSIAN, "ДОМ", NO_HINT, ""), new int[]{10, 20, 30}, 9000);
+
+        Path file = dir.resolve("games.hlog");
+        try (GameLogWriter writer = new GameLogWriter(file)) {
+            writer.appendAll(List.of(english, russian));
+        }
+
+        try (GameLogReader reader = new GameLogReader(file)) {
+            assertSameRound(english, reader.next());
+            assertSameRound(russian, reader.next());
+            assertNull(reader.next());
+            assertFalse(reader.isTruncated());
+        }
+    }
+
+    @Test
+    void roundCutOffByACrashIsReported() throws IOException {
+        GameLog log = new GameLog(1, 0, "Medium", 6, Alphabet.ENGLISH, "CAT",
+                moves(Alphabet.ENGLISH, "CAT", NO_HINT, ""), new int[3], 2000);
+        Path file = dir.resolve("torn.hlog");
+        try (GameLogWriter writer = new GameLogWriter(file)) {
+            writer.appendAll(List.of(log, log));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        try (GameLogReader reader = new GameLogReader(file)) {
+            assertSameRound(log, reader.next());
+            assertNull(reader.next());
+            assertTrue(reader.isTruncated());
+        }
+    }
+
+    @Test
+    void roundWonByAChosenHintReplaysAsWon() {
+        // The hint is the last move and ends the round, so it must be in the log (GameRecorder records before applying)
+        HangmanGame played = new HangmanGame("HOUSE", 6);
+        played.start("HOUSE", 6, 99);
+        for (char c : "HOUS".toCharArray()) played.guess(c);
+        played.hint('E');
+        assertEquals(GameStatus.WON, played.getStatus());
+        int score = Scoring.roundScore(true, played.getRemainingAttempts(), "Medium");
+
+        GameLog log = new GameLog(99, 0, "Medium", 6, Alphabet.ENGLISH, "HOUSE",
+                moves(Alphabet.ENGLISH, "HOUS", 'E', ""), new int[5], score);
+        HangmanGame replayed = new HangmanGame("A", 6);
+        log.replay(replayed);
+        assertEquals(GameStatus.WON, replayed.getStatus());
+        assertEquals(score, Scoring.roundScore(true, replayed.getRemainingAttempts(), "Medium"));
+    }
+
+    @Test
+    void randomHintsReplayFromTheSeed() {
+        HangmanGame played = new HangmanGame("A", 9);
+        played.start("ALPHABET", 9, 1234);
+        char first = played.hint();
+
+        GameLog log = new GameLog(1234, 0, "Easy", 9, Alphabet.ENGLISH, "ALPHABET",
+                new byte[]{(byte) GameLog.MOVE_RANDOM_HINT}, new int[1], 0);
+        HangmanGame replayed = new HangmanGame("A", 9);
+        log.replay(replayed);
+        assertTrue(replayed.isGuessed(first));
+        assertEquals(played.getRevealedMask(), replayed.getRevealedMask());
+    }
+
+    // Guesses of 'before', then a chosen hint (unless NO_HINT, or '-' for a random hint), then guesses of 'after'
+    private static byte[] moves(Alphabet alphabet, String before, char hint, String after) {
+        byte[] moves = new byte[before.length() + (hint != NO_HINT ? 1 : 0) + after.length()];
+        int i = 0;
+        for (char c : before.toCharArray()) moves[i++] = (byte) (GameLog.MOVE_GUESS + alphabet.indexOf(c));
+        if (hint == '-') moves[i++] = (byte) GameLog.MOVE_RANDOM_HINT;
+        else if (hint != NO_HINT) moves[i++] = (byte) (GameLog.MOVE_HINT + alphabet.indexOf(hint));
+        for (char c : after.toCharArray()) moves[i++] = (byte) (GameLog.MOVE_GUESS + alphabet.indexOf(c));
+        return moves;
+    }
+
+    private static void assertSameRound(GameLog expected, GameLog actual) {
+        assertEquals(expected.seed(), actual.seed());
+        assertEquals(expected.startedAt(), actual.startedAt());
+        assertEquals(expected.difficulty(), actual.difficulty());
+        assertEquals(expected.attempts(), actual.attempts());
+        assertEquals(expected.alphabet(), actual.alphabet());
+        assertEquals(expected.word(), actual.word());
+        assertArrayEquals(expected.moves(), actual.moves());
+        assertArrayEquals(expected.delaysMillis(), actual.delaysMillis());
+        assertEquals(expected.claimedScore(), actual.claimedScore());
+    }
+}
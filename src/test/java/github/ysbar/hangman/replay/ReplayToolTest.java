@@ -0,0 +1,45 @@
+package github.ysbar.hangman.replay;
+
+import github.ysbar.hangman.engine.Alphabet;
+import github.ysbar.hangman.engine.Scoring;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY: ReplayTool on a damaged log: the rounds before a damaged record are replayed
+ * (and verified), not only counted.
+ */
+
+class ReplayToolTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundsBeforeGarbageAreReplayed() throws IOException, InterruptedException {
+        // C, A, T guessed without a miss: a won Medium round with all 6 lives left
+        GameLog won = new GameLog(5, 0, "Medium", 6, Alphabet.ENGLISH, "CAT",
+                new byte[]{GameLog.MOVE_GUESS + 2, GameLog.MOVE_GUESS, GameLog.MOVE_GUESS + 19}, new int[3],
+                Scoring.roundScore(true, 6, "Medium"));
+        Path file = dir.resolve("damaged.hlog");
+        try (GameLogWriter writer = new GameLogWriter(file)) {
+            writer.appendAll(List.of(won, won, won));
+        }
+        Files.write(file, new byte[]{(byte) 0xFF, 1, 2, 3}, StandardOpenOption.APPEND); // Not a round tag
+
+        ReplayTool tool = new ReplayTool();
+        assertEquals(3, tool.replayFile(file));
+        tool.awaitWorkers();
+        assertEquals(3, tool.replayedRounds());
+        assertEquals(0, tool.mismatchCount());
+    }
+}
@@ -0,0 +1,89 @@
+package github.ysbar.hangman.server;
+
+import github.ysbar.hangman.engine.Scoring;
+import github.ysbar.hangman.model.GameSession;
+import github.ysbar.hangman.service.Leaderboards;
+import github.ysbar.hangman.service.WordService;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @AUTHOR: Julian
+ * RESPONSIBILITY: ServerSession settings over a real loopback connection: a difficulty sent in
+ * any case is stored as its exact label (so it scores with its multiplier), and an unknown one is refused.
+ */
+
+class ServerSessionTest {
+
+    @Test
+    void lowercaseDifficultyIsStoredAsItsLabel() throws IOException {
+        GameSession session = new GameSession();
+        try (Client client = new Client(session)) {
+            assertTrue(client.send("NEW hard").startsWith("ROUND "));
+            assertEquals("Hard", session.getConfig().difficulty());
+            assertTrue(Scoring.multiplier(session.getConfig().difficulty()) > Scoring.multiplier("Medium"));
+
+            assertTrue(client.send("NEW eAsY 9").startsWith("ROUND "));
+            assertEquals("Easy", session.getConfig().difficulty());
+            assertEquals(9, session.getConfig().attempts());
+        }
+    }
+
+    @Test
+    void unknownDifficultyIsRefused() throws IOException {
+        GameSession session = new GameSession();
+        try (Client client = new Client(session)) {
+            assertTrue(client.send("NEW hardest").startsWith("ERR "));
+            assertEquals("Medium", session.getConfig().difficulty()); // Settings unchanged, no round started
+            assertEquals("ERR no round, send NEW", client.send("GUESS A"));
+        }
+    }
+
+    // One player connected to a ServerSession served on a virtual thread
+    private static final class Client implements AutoCloseable {
+        private final ServerSocket server;
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client(GameSession session) throws IOException {
+            server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+            ServerSession player = new ServerSession(new WordService(), new Leaderboards(10), session);
+            Thread.ofVirtual().start(() -> {
+                try (Socket accepted = server.accept()) {
+                    player.run(accepted);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            socket = new Socket(server.getInetAddress(), server.getLocalPort());
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            assertTrue(in.readLine().startsWith("HELLO "));
+        }
+
+        String send(String line) throws IOException {
+            out.println(line);
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            send("QUIT");
+            socket.close();
+            server.close();
+        }
+    }
+}
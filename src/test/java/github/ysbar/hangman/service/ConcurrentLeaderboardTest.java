@@ -0,0 +1,98 @@
+package github.ysbar.hangman.service;
+
+import github.ysbar.hangman.engine.Scoring;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: Multi-threaded stress test for ConcurrentLeaderboard. Many threads submit
+ * random session scores at once; afterwards the board must hold exactly the best scores of all
+ * submissions (no lost or extra entries) and every rank must match a sequential recount.
+ * More submissions: ./gradlew test -PstressSubmissions=4000000
+ */
+
+class ConcurrentLeaderboardTest {
+
+    private static final int THREADS = 8;
+    private static final int CAPACITY = 10;
+    private static final int SUBMISSIONS = Integer.getInteger("hangman.stress.submissions", 400_000);
+
+    @Test
+    void concurrentSubmissionsLoseNothing() throws InterruptedException {
+        ConcurrentLeaderboard board = new ConcurrentLeaderboard(CAPACITY);
+        int[][] scores = randomScores(SUBMISSIONS / THREADS);
+
+        // --- CONCURRENT PHASE ---
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int[] mine : scores) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int score : mine) {
+                    board.submit(new ScoreRecord(score, 0, "Medium", 6, 0, 0));
+                }
+            }));
+        }
+        go.countDown();
+        for (Thread worker : workers) worker.join();
+
+        // --- VERIFICATION (sequential recount) ---
+        long total = (long) scores.length * scores[0].length;
+        assertEquals(total, board.size(), "sessions counted");
+
+        List<Integer> expectedTop = new ArrayList<>();
+        long[] histogram = new long[ConcurrentLeaderboard.BUCKETS];
+        for (int[] mine : scores) {
+            for (int score : mine) {
+                histogram[ConcurrentLeaderboard.bucket(score)]++;
+                expectedTop.add(score);
+            }
+        }
+        expectedTop.sort(Comparator.reverseOrder());
+        assertEquals(expectedTop.subList(0, CAPACITY), board.top().stream().map(ScoreRecord::score).toList(), "top list");
+
+        long[] buckets = board.bucketCounts();
+        long better = total;
+        for (int b = 0; b < histogram.length; b++) {
+            better -= histogram[b]; // Sessions above bucket b
+            assertEquals(histogram[b], buckets[b], "count of bucket " + b);
+            assertEquals(better + 1, board.rank(b * ConcurrentLeaderboard.BUCKET_SIZE), "rank at bucket " + b);
+        }
+    }
+
+    @Test
+    void topListKeepsOnlyTheBestScores() {
+        ConcurrentLeaderboard board = new ConcurrentLeaderboard(3);
+        for (int score : new int[]{1000, 5000, 2000, 9000, 3000}) {
+            board.submit(new ScoreRecord(score, 0, "Easy", 6, 0, 0));
+        }
+        assertEquals(List.of(9000, 5000, 3000), board.top().stream().map(ScoreRecord::score).toList());
+        assertEquals(5, board.size());
+        assertEquals(1, board.rank(10_000));
+    }
+
+    // Mostly ordinary sessions, a few long ones: like real play, the top-N fast path rejects most
+    private static int[][] randomScores(int perThread) {
+        int[][] scores = new int[THREADS][perThread];
+        for (int t = 0; t < THREADS; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            for (int i = 0; i < perThread; i++) {
+                int rounds = random.nextInt(100) == 0 ? random.nextInt(200) : random.nextInt(10);
+                scores[t][i] = rounds * Scoring.POINTS_PER_ATTEMPT * (1 + random.nextInt(9));
+            }
+        }
+        return scores;
+    }
+}
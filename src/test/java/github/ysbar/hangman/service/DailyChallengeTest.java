@@ -0,0 +1,97 @@
+package github.ysbar.hangman.service;
+
+import github.ysbar.hangman.engine.Alphabet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: DailyChallenge day -> word mapping: a permutation of the list, the same on every
+ * run and machine, no repeats within a cycle, and the same word for a CSV list and its word pack order.
+ */
+
+class DailyChallengeTest {
+
+    private static final long DAY = 20_000; // 2024-10-04
+    // Pinned results for DAY on words(300); changing them breaks "the same word for everyone",
+    // since players on the old version would get other words
+    private static final int EXPECTED_POSITION = 136;
+    private static final long EXPECTED_SEED = 2032289318723160316L;
+
+    @Test
+    void permutationHitsEveryPositionOnce() {
+        for (int size : new int[]{1, 2, 3, 5, 17, 100, 1000, 4097}) {
+            Set<Integer> seen = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                int position = DailyChallenge.permute(i, size, 12345L * size);
+                assertTrue(position >= 0 && position < size && seen.add(position), "size " + size + ", index " + i);
+            }
+        }
+    }
+
+    @Test
+    void noWordRepeatsWithinACycle() {
+        WordList list = dictionary(words(300));
+        long firstOfCycle = Math.floorDiv(DAY, 300) * 300;
+        Set<Integer> seen = new HashSet<>();
+        for (long day = firstOfCycle; day < firstOfCycle + 300; day++) {
+            assertTrue(seen.add(DailyChallenge.position(list, "medium", day)), "repeated on day " + day);
+        }
+    }
+
+    @Test
+    void mappingIsFixedAcrossRunsAndMachines() {
+        WordList list = dictionary(words(300));
+        assertEquals(EXPECTED_POSITION, DailyChallenge.position(list, "medium", DAY));
+        assertEquals(EXPECTED_SEED, new DailyChallenge(null).seedFor("Medium", DAY));
+    }
+
+    @Test
+    void difficultiesAndDaysGetDifferentWords() {
+        WordList list = dictionary(words(300));
+        assertNotEquals(DailyChallenge.position(list, "easy", DAY), DailyChallenge.position(list, "hard", DAY));
+        assertNotEquals(DailyChallenge.position(list, "easy", DAY), DailyChallenge.position(list, "easy", DAY + 1));
+    }
+
+    @Test
+    void csvListAndWordPackOrderPickTheSameWord() {
+        // A word pack stores the same words stably sorted by length
+        List<String> csv = words(300);
+        List<String> packOrder = new ArrayList<>(csv);
+        packOrder.sort(Comparator.comparingInt(String::length));
+        WordList fromCsv = dictionary(csv);
+        WordList sorted = dictionary(packOrder);
+
+        for (long day = DAY; day < DAY + 50; day++) {
+            assertEquals(sorted.wordAt(DailyChallenge.position(sorted, "hard", day)),
+                    fromCsv.wordAt(DailyChallenge.position(fromCsv, "hard", day)));
+        }
+    }
+
+    // Words of 3-8 letters in a mixed order
+    private static List<String> words(int n) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 3 + (i * 7) % 6;
+            for (int j = 0; j < length; j++) word.append((char) ('A' + (i * 31 + j * 17 + j * i) % 26));
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    private static WordList dictionary(List<String> words) {
+        WordDictionary.Builder builder = new WordDictionary.Builder(Alphabet.ENGLISH);
+        words.forEach(builder::add);
+        return builder.build();
+    }
+}
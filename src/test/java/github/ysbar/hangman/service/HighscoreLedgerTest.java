@@ -0,0 +1,121 @@
+package github.ysbar.hangman.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: HighscoreLedger round-trip and crash repair: records survive a reopen, a torn
+ * or corrupt tail is truncated back to the last good record, the next append starts clean, and
+ * create() never replaces an existing ledger.
+ */
+
+class HighscoreLedgerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsSurviveReopen() throws IOException {
+        Path file = dir.resolve("highscore.ledger");
+        try (HighscoreLedger ledger = HighscoreLedger.open(file, 2)) {
+            ledger.appendAll(List.of(record(3000), record(9000), record(5000)));
+        }
+        try (HighscoreLedger ledger = HighscoreLedger.open(file, 2)) {
+            assertEquals(3, ledger.size());
+            assertEquals(List.of(9000, 5000), scores(ledger.top()));
+            assertEquals(record(9000), ledger.best());
+        }
+    }
+
+    @Test
+    void tornTailIsTruncated() throws IOException {
+        Path file = dir.resolve("torn.ledger");
+        try (HighscoreLedger ledger = HighscoreLedger.open(file, 10)) {
+            ledger.appendAll(List.of(record(1000), record(2000)));
+        }
+        // A crash in the middle of an append: half a record at the end
+        Files.write(file, new byte[HighscoreLedger.RECORD_SIZE / 2], StandardOpenOption.APPEND);
+
+        try (HighscoreLedger ledger = HighscoreLedger.open(file, 10)) {
+            assertEquals(2, ledger.size());
+            assertEquals(HighscoreLedger.HEADER_SIZE + 2L * HighscoreLedger.RECORD_SIZE, Files.size(file));
+            ledger.append(record(4000));
+        }
+        try (HighscoreLedger ledger = HighscoreLedger.open(file, 10)) {
+            assertEquals(List.of(4000, 2000, 1000), scores(ledger.top()));
+        }
+    }
+
+    @Test
+    void corruptRecordDropsItAndEverythingAfterIt() throws IOException {
+        Path file = dir.resolve("corrupt.ledger");
+        try (HighscoreLedger ledger = HighscoreLedger.open(file, 10)) {
+            ledger.appendAll(List.of(record(1000), record(2000), record(3000)));
+        }
+        // Flip a byte in the score of the second record, so its checksum no longer matches
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            long position = HighscoreLedger.HEADER_SIZE + HighscoreLedger.RECORD_SIZE + 3;
+            raw.seek(position);
+            int b = raw.read();
+            raw.seek(position);
+            raw.write(b ^ 0xFF);
+        }
+
+        try (HighscoreLedger ledger = HighscoreLedger.open(file, 10)) {
+            assertEquals(List.of(1000), scores(ledger.top()));
+            assertEquals(HighscoreLedger.HEADER_SIZE + (long) HighscoreLedger.RECORD_SIZE, Files.size(file));
+        }
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path file = dir.resolve("other.ledger");
+        Files.writeString(file, "SCORE;WORDS\n");
+        assertThrows(IOException.class, () -> HighscoreLedger.open(file, 10));
+    }
+
+    @Test
+    void createNeverReplacesAnExistingLedger() throws IOException {
+        Path file = dir.resolve("created.ledger");
+        assertTrue(HighscoreLedger.create(file, List.of(record(6000))));
+        assertFalse(HighscoreLedger.create(file, List.of(record(1000))));
+        try (HighscoreLedger ledger = HighscoreLedger.open(file, 10)) {
+            assertEquals(List.of(6000), scores(ledger.top()));
+        }
+    }
+
+    @Test
+    void emptyFileGetsAHeader() throws IOException {
+        // Created but not filled yet (or the creator crashed right after creating it)
+        Path file = dir.resolve("empty.ledger");
+        Files.createFile(file);
+        try (HighscoreLedger ledger = HighscoreLedger.open(file, 10)) {
+            assertEquals(0, ledger.size());
+            ledger.append(record(2000));
+        }
+        try (HighscoreLedger ledger = HighscoreLedger.open(file, 10)) {
+            assertEquals(List.of(2000), scores(ledger.top()));
+        }
+    }
+
+    private static ScoreRecord record(int score) {
+        return new ScoreRecord(score, score / 1000, "Medium", 6, 60_000, score);
+    }
+
+    private static List<Integer> scores(List<ScoreRecord> records) {
+        return records.stream().map(ScoreRecord::score).toList();
+    }
+}
@@ -0,0 +1,57 @@
+package github.ysbar.hangman.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: HighscoreService session checkpoints: a running session is kept next to the
+ * ledger until it is recorded, and the checkpoint of a process that died is recovered as a session.
+ */
+
+class HighscoreServiceTest {
+
+    private static final long DEAD_PID = Long.MAX_VALUE; // No such process
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void finishedSessionReplacesItsCheckpoint() throws Exception {
+        Path file = dir.resolve("highscore.ledger");
+        HighscoreService service = new HighscoreService(file.toFile());
+        Path checkpoint = HighscoreService.checkpointFile(file.toAbsolutePath(), ProcessHandle.current().pid());
+
+        service.checkpointSession(1000, 1, "Medium", 6, 10_000).get();
+        service.checkpointSession(2000, 2, "Medium", 6, 20_000).get();
+        assertTrue(Files.exists(checkpoint));
+        assertEquals(List.of(), scores(service)); // Not a finished session yet
+
+        service.recordSession(3000, 3, "Medium", 6, 30_000).get();
+        assertFalse(Files.exists(checkpoint));
+        assertEquals(List.of(3000), scores(service));
+    }
+
+    @Test
+    void checkpointOfADeadProcessIsRecovered() throws Exception {
+        Path file = dir.resolve("crashed.ledger");
+        Path checkpoint = HighscoreService.checkpointFile(file.toAbsolutePath(), DEAD_PID);
+        HighscoreLedger.create(checkpoint, List.of(new ScoreRecord(7000, 7, "Hard", 6, 70_000, 1)));
+
+        HighscoreService service = new HighscoreService(file.toFile());
+        assertEquals(List.of(7000), scores(service));
+        assertFalse(Files.exists(checkpoint));
+    }
+
+    private static List<Integer> scores(HighscoreService service) throws Exception {
+        return service.getLeaderboardAsync().get().stream().map(ScoreRecord::score).toList();
+    }
+}
@@ -0,0 +1,66 @@
+package github.ysbar.hangman.service;
+
+import github.ysbar.hangman.engine.Alphabet;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: ReservoirSampler: bounded samples without repeats, short streams kept whole,
+ * unplayable lines skipped, the same seed gives the same sample, and every word has a fair chance.
+ */
+
+class ReservoirSamplerTest {
+
+    @Test
+    void shortStreamIsKeptWhole() {
+        List<String> picked = ReservoirSampler.sample(Stream.of("cat", "", "dog", "émigré"), 10, new SplittableRandom(1), Alphabet.ENGLISH);
+        assertEquals(List.of("CAT", "DOG", "EMIGRE"), picked);
+    }
+
+    @Test
+    void unplayableLinesAreSkipped() {
+        List<String> picked = ReservoirSampler.sample(Stream.of("дом", "cat", "мир"), 2, new SplittableRandom(1), Alphabet.ENGLISH);
+        assertEquals(List.of("CAT"), picked);
+    }
+
+    @Test
+    void sampleIsBoundedWithoutRepeatsAndRepeatable() {
+        List<String> first = ReservoirSampler.sample(words(10_000), 100, new SplittableRandom(7), Alphabet.ENGLISH);
+        List<String> second = ReservoirSampler.sample(words(10_000), 100, new SplittableRandom(7), Alphabet.ENGLISH);
+        assertEquals(100, first.size());
+        assertEquals(100, new HashSet<>(first).size());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void everyWordHasAFairChance() {
+        // 10 words, samples of 5: each word should be picked in about half of the runs
+        int[] counts = new int[10];
+        SplittableRandom random = new SplittableRandom(3);
+        int runs = 20_000;
+        for (int run = 0; run < runs; run++) {
+            for (String word : ReservoirSampler.sample(words(10), 5, random, Alphabet.ENGLISH)) {
+                counts[word.charAt(0) - 'A']++;
+            }
+        }
+        for (int count : counts) {
+            assertTrue(Math.abs(count - runs / 2) < runs / 20, "picked " + count + " of " + runs);
+        }
+    }
+
+    // "A", "B", ... for n <= 26, otherwise distinct three-letter words
+    private static Stream<String> words(int n) {
+        return IntStream.range(0, n).mapToObj(i -> (n <= 26)
+                ? String.valueOf((char) ('A' + i))
+                : "" + (char) ('A' + i % 26) + (char) ('A' + i / 26 % 26) + (char) ('A' + i / 676 % 26));
+    }
+}
@@ -0,0 +1,123 @@
+package github.ysbar.hangman.service;
+
+import github.ysbar.hangman.engine.Alphabet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @AUTHOR: Siqi
+ * RESPONSIBILITY: WordScheduler decks: no word repeats within a cycle, a saved deck continues
+ * where it stopped after a restart, a deck whose words were edited (same size) starts fresh, and
+ * players sharing one index each get every word of their own cycle.
+ */
+
+class WordSchedulerTest {
+
+    private static final DifficultyPreset PRESET = DifficultyPreset.MEDIUM;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void noWordRepeatsWithinACycle() {
+        WordIndex index = index(words(null));
+        WordScheduler scheduler = new WordScheduler(index, dir.resolve("schedule.properties"));
+        int deck = index.count(PRESET.query());
+        assertTrue(deck > 10);
+
+        Set<Integer> drawn = new HashSet<>();
+        for (int i = 0; i < deck; i++) assertTrue(drawn.add(scheduler.next(PRESET)), "repeated within the cycle");
+        assertTrue(drawn.contains(scheduler.next(PRESET))); // The next cycle starts over the same words
+    }
+
+    @Test
+    void savedDeckContinuesAfterRestart() {
+        Path file = dir.resolve("schedule.properties");
+        WordIndex index = index(words(null));
+
+        WordScheduler first = new WordScheduler(index, file);
+        for (int i = 0; i < 5; i++) first.next(PRESET);
+        first.save();
+        List<Integer> expected = draw(first, 5);
+
+        // A restart from the file saved after 5 draws hands out the same next words
+        assertEquals(expected, draw(new WordScheduler(index, file), 5));
+    }
+
+    @Test
+    void editedListStartsANewCycle() {
+        Path file = dir.resolve("schedule.properties");
+        WordIndex original = index(words(null));
+
+        WordScheduler first = new WordScheduler(original, file);
+        List<Integer> before = draw(first, 5);
+        first.save();
+        List<Integer> expectedIfRestored = draw(first, 5);
+
+        // One word replaced by an anagram: same size and same deck order, only the words differ
+        WordIndex edited = index(words("MJGDA"));
+        assertEquals(original.count(PRESET.query()), edited.count(PRESET.query()));
+        List<Integer> after = draw(new WordScheduler(edited, file), 5 + 5);
+
+        assertNotEquals(expectedIfRestored, after.subList(0, 5), "old position replayed over edited words");
+        assertNotEquals(before, after.subList(0, 5));
+    }
+
+    @Test
+    void playersSharingAnIndexHaveTheirOwnCycles() throws IOException {
+        WordIndex index = index(words(null));
+        WordScheduler alice = new WordScheduler(index);
+        WordScheduler bob = new WordScheduler(index);
+        int deck = index.count(PRESET.query());
+
+        // Taking turns: a word drawn by one player is not missing from the other's cycle
+        Set<Integer> aliceWords = new HashSet<>(), bobWords = new HashSet<>();
+        for (int i = 0; i < deck; i++) {
+            assertTrue(aliceWords.add(alice.next(PRESET)));
+            assertTrue(bobWords.add(bob.next(PRESET)));
+        }
+        assertEquals(aliceWords, bobWords);
+
+        alice.save(); // In memory only: writes nothing
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private static List<Integer> draw(WordScheduler scheduler, int count) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) ids.add(scheduler.next(PRESET));
+        return ids;
+    }
+
+    // 40 medium words; 'replacement' takes the place of the first one
+    private static List<String> words(String replacement) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int j = 0; j < 5 + i % 3; j++) word.append((char) ('A' + (i + 3 * j) % 26));
+            words.add(word.toString());
+        }
+        if (replacement != null) words.set(0, replacement);
+        return words;
+    }
+
+    private static WordIndex index(List<String> words) {
+        WordDictionary.Builder builder = new WordDictionary.Builder(Alphabet.ENGLISH);
+        words.forEach(builder::add);
+        return WordIndex.build(builder.build(), Alphabet.ENGLISH);
+    }
+}